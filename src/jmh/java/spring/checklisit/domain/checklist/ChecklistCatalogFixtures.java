@@ -0,0 +1,26 @@
+package spring.checklisit.domain.checklist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ChecklistCatalogFixtures {
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private ChecklistCatalogFixtures() {
+    }
+
+    public static List<ChecklistItem> catalog(int size) {
+        List<ChecklistItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(ChecklistItem.builder()
+                    .label("Task " + i)
+                    .category(CATEGORIES[i % CATEGORIES.length])
+                    .order(i)
+                    .status(i % 10 == 0 ? Status.INACTIVE : Status.ACTIVE)
+                    .complete(i % 3 == 0)
+                    .build());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,75 @@
+package spring.checklisit.domain.checklist;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChecklistUseCaseBenchmark {
+
+    private static final String USER_ID = "benchmark-user";
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int catalogSize;
+
+    private ChecklistUseCase checklistUseCase;
+    private List<ChecklistItem> originalOrder;
+    private List<ChecklistItem> swappedOrder;
+    private String toggledItemId;
+    private long invocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryChecklistPort port = new InMemoryChecklistPort();
+        ChecklistSettings settings = new ChecklistSettings(false, 32, 5, Duration.ofMillis(10));
+        ConflictRetry conflictRetry = new ConflictRetry(settings);
+        WriteBehindSettings writeBehind = new WriteBehindSettings(false, Duration.ofMillis(250), 16, true);
+        checklistUseCase = new ChecklistUseCase(port, settings, new ChecklistTemplateRegistry(port),
+                new ConcurrentReads(settings), conflictRetry,
+                new CompletionWriteBuffer(port, conflictRetry, writeBehind));
+
+        List<ChecklistItem> catalog = port.saveAllItems(ChecklistCatalogFixtures.catalog(catalogSize));
+        originalOrder = catalog.stream().map(item -> item.toBuilder().build()).toList();
+        swappedOrder = new ArrayList<>(originalOrder.stream().map(item -> item.toBuilder().build()).toList());
+        if (catalogSize > 1) {
+            ChecklistItem first = swappedOrder.get(0);
+            ChecklistItem second = swappedOrder.get(1);
+            swappedOrder.set(0, first.toBuilder().order(second.getOrder()).build());
+            swappedOrder.set(1, second.toBuilder().order(first.getOrder()).build());
+        }
+
+        UserChecklist checklist = checklistUseCase.resetChecklist(USER_ID);
+        toggledItemId = checklist.getItems().get(0).getItemId();
+    }
+
+    // Alternates between the two orderings so every invocation carries a real two-item diff
+    @Benchmark
+    public ItemSyncResult updateItemsReorderingTwoItems() {
+        return checklistUseCase.updateItems((invocation++ & 1) == 0 ? swappedOrder : originalOrder);
+    }
+
+    @Benchmark
+    public UserChecklist resetChecklist() {
+        return checklistUseCase.resetChecklist(USER_ID);
+    }
+
+    @Benchmark
+    public UserChecklist updateItemCompletion() {
+        return (invocation++ & 1) == 0
+                ? checklistUseCase.markItemComplete(USER_ID, toggledItemId)
+                : checklistUseCase.markItemUncomplete(USER_ID, toggledItemId);
+    }
+}
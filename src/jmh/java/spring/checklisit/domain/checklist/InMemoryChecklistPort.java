@@ -0,0 +1,211 @@
+package spring.checklisit.domain.checklist;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+public class InMemoryChecklistPort implements ChecklistPort {
+
+    private final Map<String, ChecklistItem> items = new ConcurrentHashMap<>();
+    private final Map<UserChecklistKey, UserChecklist> userChecklists = new ConcurrentHashMap<>();
+    private final Map<UserChecklistKey, UserChecklist> archive = new ConcurrentHashMap<>();
+    private final Map<LocalDate, RolloverCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public List<ChecklistItem> findAllItems() {
+        return items.values().stream()
+                .map(InMemoryChecklistPort::copy)
+                .toList();
+    }
+
+    @Override
+    public List<ChecklistItem> findItems(ChecklistItemQuery query) {
+        return query(query).toList();
+    }
+
+    @Override
+    public ItemPage findItemPage(ChecklistItemQuery query, ItemCursor after, int limit) {
+        List<ChecklistItem> page = items.values().stream()
+                .filter(query::matches)
+                .filter(item -> after == null || after.precedes(item))
+                .sorted(ItemSort.CATEGORY_ORDER.getComparator())
+                .limit(limit + 1L)
+                .map(InMemoryChecklistPort::copy)
+                .toList();
+        if (page.size() <= limit) {
+            return new ItemPage(page, null);
+        }
+        return new ItemPage(page.subList(0, limit), ItemCursor.of(page.get(limit - 1)));
+    }
+
+    @Override
+    public Stream<ChecklistItem> streamItems(ChecklistItemQuery query) {
+        return query(query);
+    }
+
+    @Override
+    public Optional<ChecklistItem> findItemById(String id) {
+        return Optional.ofNullable(items.get(id)).map(InMemoryChecklistPort::copy);
+    }
+
+    @Override
+    public List<ChecklistItem> saveAllItems(List<ChecklistItem> toSave) {
+        toSave.forEach(item -> {
+            if (item.getId() == null || item.getId().isBlank()) {
+                item.setId(UUID.randomUUID().toString());
+            }
+            item.setVersion(nextVersion(item.getVersion()));
+            items.put(item.getId(), copy(item));
+        });
+        return toSave;
+    }
+
+    @Override
+    public void deleteItemById(String id) {
+        items.remove(id);
+    }
+
+    @Override
+    public void applyItemChanges(List<ChecklistItem> updatedItems, List<ChecklistItem> deletedItems) {
+        updatedItems.forEach(item -> {
+            item.setVersion(nextVersion(item.getVersion()));
+            items.put(item.getId(), copy(item));
+        });
+        deletedItems.forEach(item -> items.remove(item.getId()));
+    }
+
+    @Override
+    public Optional<UserChecklist> findUserChecklistByDate(String userId, LocalDate date) {
+        return Optional.ofNullable(userChecklists.get(new UserChecklistKey(userId, date)));
+    }
+
+    @Override
+    public UserChecklist saveUserChecklist(UserChecklist userChecklist) {
+        if (userChecklist.getId() == null) {
+            userChecklist.setId(UUID.randomUUID().toString());
+        }
+        userChecklist.setVersion(nextVersion(userChecklist.getVersion()));
+        userChecklists.put(UserChecklistKey.of(userChecklist), userChecklist);
+        return userChecklist;
+    }
+
+    @Override
+    public UserChecklist materializeUserChecklist(String userId, LocalDate date, List<UserChecklistItem> userItems) {
+        return userChecklists.computeIfAbsent(new UserChecklistKey(userId, date), key -> UserChecklist.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .date(date)
+                .items(userItems)
+                .version(1L)
+                .build());
+    }
+
+    @Override
+    public Optional<UserChecklist> updateItemCompletion(String userId, LocalDate date, String itemId, boolean complete) {
+        UserChecklist checklist = userChecklists.get(new UserChecklistKey(userId, date));
+        if (checklist == null) {
+            return Optional.empty();
+        }
+        if (checklist.getItems().stream().noneMatch(item -> item.getItemId().equals(itemId))) {
+            return Optional.empty();
+        }
+        // Items may come from the shared checklist template, so they are copied rather than mutated
+        checklist.setItems(checklist.getItems().stream()
+                .map(item -> item.getItemId().equals(itemId) ? item.toBuilder().complete(complete).build() : item)
+                .toList());
+        checklist.setVersion(nextVersion(checklist.getVersion()));
+        return Optional.of(checklist);
+    }
+
+    @Override
+    public Optional<UserChecklist> applyCompletionBatch(String userId, LocalDate date, CompletionBatch batch) {
+        UserChecklist checklist = userChecklists.get(new UserChecklistKey(userId, date));
+        if (checklist == null) {
+            return Optional.empty();
+        }
+        checklist.setItems(batch.applyTo(checklist.getItems()));
+        checklist.setVersion(nextVersion(checklist.getVersion()));
+        return Optional.of(checklist);
+    }
+
+    @Override
+    public List<String> findUserIdsWithChecklist(LocalDate date, String afterUserId, int limit) {
+        return userChecklists.keySet().stream()
+                .filter(key -> key.date().equals(date))
+                .map(UserChecklistKey::userId)
+                .filter(userId -> afterUserId == null || userId.compareTo(afterUserId) > 0)
+                .sorted()
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public int createUserChecklistsIfAbsent(List<UserChecklist> toCreate) {
+        int created = 0;
+        for (UserChecklist checklist : toCreate) {
+            if (userChecklists.putIfAbsent(UserChecklistKey.of(checklist), checklist) == null) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    @Override
+    public List<UserChecklist> findUserChecklistHistory(String userId, LocalDate from, LocalDate to) {
+        return Stream.concat(archive.values().stream(), userChecklists.values().stream())
+                .filter(checklist -> checklist.getUserId().equals(userId))
+                .filter(checklist -> !checklist.getDate().isBefore(from) && !checklist.getDate().isAfter(to))
+                .sorted(Comparator.comparing(UserChecklist::getDate))
+                .toList();
+    }
+
+    @Override
+    public List<UserChecklist> findUserChecklistsBefore(LocalDate cutoff, int limit) {
+        return userChecklists.values().stream()
+                .filter(checklist -> checklist.getDate().isBefore(cutoff))
+                .sorted(Comparator.comparing(UserChecklist::getDate).thenComparing(UserChecklist::getUserId))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public int archiveUserChecklists(List<UserChecklist> toArchive) {
+        toArchive.forEach(checklist -> {
+            archive.put(UserChecklistKey.of(checklist), checklist);
+            userChecklists.remove(UserChecklistKey.of(checklist));
+        });
+        return toArchive.size();
+    }
+
+    @Override
+    public Optional<RolloverCheckpoint> findRolloverCheckpoint(LocalDate date) {
+        return Optional.ofNullable(checkpoints.get(date));
+    }
+
+    @Override
+    public void saveRolloverCheckpoint(RolloverCheckpoint checkpoint) {
+        checkpoints.put(checkpoint.date(), checkpoint);
+    }
+
+    // Single-threaded benchmarks never conflict, so versions are only advanced, not checked
+    private static long nextVersion(Long version) {
+        return version == null ? 0L : version + 1;
+    }
+
+    private Stream<ChecklistItem> query(ChecklistItemQuery query) {
+        Stream<ChecklistItem> matching = items.values().stream().filter(query::matches);
+        if (query.sort().getComparator() != null) {
+            matching = matching.sorted(query.sort().getComparator());
+        }
+        return matching.map(InMemoryChecklistPort::copy);
+    }
+
+    private static ChecklistItem copy(ChecklistItem item) {
+        return item.toBuilder().build();
+    }
+}
@@ -0,0 +1,81 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import spring.checklisit.domain.checklist.ChecklistCatalogFixtures;
+import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChecklistDtoMappingBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int catalogSize;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<ChecklistItem> items;
+    private List<ChecklistItemDto> itemDtos;
+    private UserChecklist userChecklist;
+    private UserChecklistDto userChecklistDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        items = ChecklistCatalogFixtures.catalog(catalogSize);
+        items.forEach(item -> item.setId(UUID.randomUUID().toString()));
+        itemDtos = mapItems();
+
+        userChecklist = UserChecklist.builder()
+                .id(UUID.randomUUID().toString())
+                .userId("benchmark-user")
+                .date(LocalDate.now())
+                .items(items.stream()
+                        .map(item -> UserChecklistItem.builder()
+                                .itemId(item.getId())
+                                .label(item.getLabel())
+                                .category(item.getCategory())
+                                .order(item.getOrder())
+                                .complete(item.isComplete())
+                                .build())
+                        .toList())
+                .build();
+        userChecklistDto = UserChecklistDto.fromEntity(userChecklist);
+    }
+
+    @Benchmark
+    public List<ChecklistItemDto> mapItems() {
+        return items.stream()
+                .map(ChecklistItemDto::fromEntity)
+                .toList();
+    }
+
+    @Benchmark
+    public UserChecklistDto mapUserChecklist() {
+        return UserChecklistDto.fromEntity(userChecklist);
+    }
+
+    @Benchmark
+    public byte[] serializeItems() {
+        return jsonMapper.writeValueAsBytes(itemDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeUserChecklist() {
+        return jsonMapper.writeValueAsBytes(userChecklistDto);
+    }
+}
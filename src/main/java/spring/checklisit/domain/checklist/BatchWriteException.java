@@ -0,0 +1,20 @@
+package spring.checklisit.domain.checklist;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BatchWriteException extends RuntimeException {
+    private final List<ChecklistItem> writtenItems;
+    private final List<ItemWriteFailure> failures;
+
+    public BatchWriteException(List<ChecklistItem> writtenItems, List<ItemWriteFailure> failures) {
+        super(failures.size() + " checklist item(s) could not be written");
+        this.writtenItems = writtenItems;
+        this.failures = failures;
+    }
+
+    public record ItemWriteFailure(String itemId, String reason) {
+    }
+}
@@ -0,0 +1,4 @@
+package spring.checklisit.domain.checklist;
+
+public record CatalogChangedEvent() {
+}
@@ -0,0 +1,10 @@
+package spring.checklisit.domain.checklist;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ChecklistAnalyticsPort {
+    List<ItemCompletionStats> findItemCompletion(LocalDate from, LocalDate to);
+    List<DailyCompletionStats> findDailyCompletion(LocalDate from, LocalDate to, Category category);
+    long rebuildDailyRollups(LocalDate from, LocalDate to);
+}
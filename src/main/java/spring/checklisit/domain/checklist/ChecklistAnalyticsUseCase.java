@@ -0,0 +1,42 @@
+package spring.checklisit.domain.checklist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Completion history read from per-day rollups, which are kept up to date by toggles and rollovers
+@Service
+@RequiredArgsConstructor
+public class ChecklistAnalyticsUseCase {
+    static final int MAX_RANGE_DAYS = 366;
+
+    private final ChecklistAnalyticsPort analyticsPort;
+
+    public List<ItemCompletionStats> getItemCompletion(LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        return analyticsPort.findItemCompletion(from, to);
+    }
+
+    public List<DailyCompletionStats> getDailyCompletion(LocalDate from, LocalDate to, Category category) {
+        requireRange(from, to);
+        return analyticsPort.findDailyCompletion(from, to, category);
+    }
+
+    // Recomputes the rollups from the stored checklists, for history written before rollups existed
+    public long rebuildRollups(LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        return analyticsPort.rebuildDailyRollups(from, to);
+    }
+
+    static void requireRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
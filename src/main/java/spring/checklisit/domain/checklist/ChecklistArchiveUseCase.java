@@ -0,0 +1,43 @@
+package spring.checklisit.domain.checklist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+@Service
+@RequiredArgsConstructor
+public class ChecklistArchiveUseCase {
+    private final ChecklistPort checklistPort;
+
+    // Moves checklists dated before the cutoff into the archive, oldest first. Batches are small and separated by a
+    // pause, so the job never holds connections or evicts the live working set for long.
+    public long archiveBefore(LocalDate cutoff, int batchSize, Duration pause, LongConsumer onProgress) {
+        long archived = 0;
+        List<UserChecklist> batch;
+        do {
+            batch = checklistPort.findUserChecklistsBefore(cutoff, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            archived += checklistPort.archiveUserChecklists(batch);
+            onProgress.accept(archived);
+            if (batch.size() == batchSize) {
+                pause(pause);
+            }
+        } while (batch.size() == batchSize);
+        return archived;
+    }
+
+    private static void pause(Duration pause) {
+        try {
+            Thread.sleep(pause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Archival interrupted", ex);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package spring.checklisit.domain.checklist;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Published for every committed write observed on the database, whichever instance made it
+public sealed interface ChecklistChange {
+
+    // A snapshot carries every item of the day; otherwise only the items whose completion changed
+    record UserChecklistChange(
+            String id,
+            String userId,
+            LocalDate date,
+            long version,
+            boolean snapshot,
+            List<UserChecklistItem> items
+    ) implements ChecklistChange {
+    }
+
+    record CatalogChange() implements ChecklistChange {
+    }
+}
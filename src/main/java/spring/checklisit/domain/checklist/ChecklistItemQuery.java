@@ -0,0 +1,29 @@
+package spring.checklisit.domain.checklist;
+
+import lombok.Builder;
+
+import java.util.Set;
+
+@Builder
+public record ChecklistItemQuery(
+        Status status,
+        Category category,
+        ItemSort sort,
+        Set<String> fields
+) {
+    public static final ChecklistItemQuery ACTIVE_SNAPSHOT_ITEMS = ChecklistItemQuery.builder()
+            .status(Status.ACTIVE)
+            .sort(ItemSort.CATEGORY_ORDER)
+            .fields(Set.of("id", "label", "category", "order", "complete"))
+            .build();
+
+    public ChecklistItemQuery {
+        sort = sort == null ? ItemSort.NONE : sort;
+        fields = fields == null ? Set.of() : Set.copyOf(fields);
+    }
+
+    public boolean matches(ChecklistItem item) {
+        return (status == null || status == item.getStatus())
+                && (category == null || category == item.getCategory());
+    }
+}
@@ -3,13 +3,29 @@ package spring.checklisit.domain.checklist;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ChecklistPort {
     List<ChecklistItem> findAllItems();
+    List<ChecklistItem> findItems(ChecklistItemQuery query);
+    ItemPage findItemPage(ChecklistItemQuery query, ItemCursor after, int limit);
+    Stream<ChecklistItem> streamItems(ChecklistItemQuery query);
     Optional<ChecklistItem> findItemById(String id);
     List<ChecklistItem> saveAllItems(List<ChecklistItem> items);
     void deleteItemById(String id);
+    void applyItemChanges(List<ChecklistItem> updatedItems, List<ChecklistItem> deletedItems);
 
-    Optional<UserChecklist> findUserChecklistByDate(LocalDate date);
+    Optional<UserChecklist> findUserChecklistByDate(String userId, LocalDate date);
     UserChecklist saveUserChecklist(UserChecklist userChecklist);
+    UserChecklist materializeUserChecklist(String userId, LocalDate date, List<UserChecklistItem> items);
+    Optional<UserChecklist> updateItemCompletion(String userId, LocalDate date, String itemId, boolean complete);
+    Optional<UserChecklist> applyCompletionBatch(String userId, LocalDate date, CompletionBatch batch);
+    List<String> findUserIdsWithChecklist(LocalDate date, String afterUserId, int limit);
+    int createUserChecklistsIfAbsent(List<UserChecklist> userChecklists);
+    List<UserChecklist> findUserChecklistHistory(String userId, LocalDate from, LocalDate to);
+    List<UserChecklist> findUserChecklistsBefore(LocalDate cutoff, int limit);
+    int archiveUserChecklists(List<UserChecklist> userChecklists);
+
+    Optional<RolloverCheckpoint> findRolloverCheckpoint(LocalDate date);
+    void saveRolloverCheckpoint(RolloverCheckpoint checkpoint);
 }
@@ -0,0 +1,88 @@
+package spring.checklisit.domain.checklist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+
+@Service
+@RequiredArgsConstructor
+public class ChecklistRolloverUseCase {
+    private final ChecklistPort checklistPort;
+    private final ChecklistTemplateRegistry templates;
+    private final ChecklistAnalyticsPort analyticsPort;
+
+    public boolean hasInterruptedRollover(LocalDate date) {
+        return checklistPort.findRolloverCheckpoint(date)
+                .map(checkpoint -> !checkpoint.completed())
+                .orElse(false);
+    }
+
+    // Creates the date's checklist for every user who had one the day before, resuming from the last checkpoint
+    public RolloverCheckpoint rollover(LocalDate date, int batchSize, int concurrency, LongConsumer onProgress) {
+        RolloverCheckpoint checkpoint = checklistPort.findRolloverCheckpoint(date)
+                .orElse(RolloverCheckpoint.start(date));
+        if (checkpoint.completed()) {
+            return checkpoint;
+        }
+
+        List<UserChecklistItem> template = templates.current().items();
+        LocalDate previousDay = date.minusDays(1);
+        int waveSize = batchSize * concurrency;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<String> userIds;
+            do {
+                userIds = checklistPort.findUserIdsWithChecklist(previousDay, checkpoint.lastUserId(), waveSize);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+
+                List<Future<Integer>> writes = new ArrayList<>();
+                for (int from = 0; from < userIds.size(); from += batchSize) {
+                    List<UserChecklist> batch = userIds.subList(from, Math.min(from + batchSize, userIds.size())).stream()
+                            .map(userId -> UserChecklist.builder()
+                                    .userId(userId)
+                                    .date(date)
+                                    .items(template)
+                                    .build())
+                            .toList();
+                    writes.add(executor.submit(() -> checklistPort.createUserChecklistsIfAbsent(batch)));
+                }
+
+                checkpoint = checkpoint.advance(userIds.getLast(), userIds.size(), awaitCreated(writes));
+                checklistPort.saveRolloverCheckpoint(checkpoint);
+                onProgress.accept(checkpoint.processedUsers());
+            } while (userIds.size() == waveSize);
+        }
+
+        RolloverCheckpoint completed = checkpoint.complete();
+        checklistPort.saveRolloverCheckpoint(completed);
+
+        // The previous day is closed now, so its incrementally maintained rollups are replaced by exact counts
+        analyticsPort.rebuildDailyRollups(previousDay, previousDay);
+        return completed;
+    }
+
+    private static long awaitCreated(List<Future<Integer>> writes) {
+        long created = 0;
+        try {
+            for (Future<Integer> write : writes) {
+                created += write.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rollover interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Rollover batch failed", ex.getCause());
+        }
+        return created;
+    }
+}
@@ -0,0 +1,15 @@
+package spring.checklisit.domain.checklist;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "checklist")
+public record ChecklistSettings(
+        @DefaultValue("false") boolean lazyMaterialization,
+        @DefaultValue("32") int readConcurrency,
+        @DefaultValue("5") int conflictAttempts,
+        @DefaultValue("10ms") Duration conflictBackoff
+) {
+}
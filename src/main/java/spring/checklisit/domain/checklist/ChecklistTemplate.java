@@ -0,0 +1,9 @@
+package spring.checklisit.domain.checklist;
+
+import java.util.List;
+
+public record ChecklistTemplate(long version, List<UserChecklistItem> items) {
+    public ChecklistTemplate {
+        items = List.copyOf(items);
+    }
+}
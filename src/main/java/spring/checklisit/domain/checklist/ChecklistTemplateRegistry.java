@@ -0,0 +1,51 @@
+package spring.checklisit.domain.checklist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+@RequiredArgsConstructor
+public class ChecklistTemplateRegistry {
+    private final ChecklistPort checklistPort;
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicReference<ChecklistTemplate> current = new AtomicReference<>();
+
+    // Resets and rollovers share the template built for the current catalog version instead of re-mapping the items
+    public ChecklistTemplate current() {
+        long version = catalogVersion.get();
+        return cached(version).orElseGet(() -> offer(new ChecklistTemplate(version,
+                checklistPort.findItems(ChecklistItemQuery.ACTIVE_SNAPSHOT_ITEMS).stream()
+                        .map(UserChecklistItem::from)
+                        .toList())));
+    }
+
+    public long version() {
+        return catalogVersion.get();
+    }
+
+    public Optional<ChecklistTemplate> cached(long version) {
+        return Optional.ofNullable(current.get()).filter(template -> template.version() == version);
+    }
+
+    // Lets callers that load the catalog themselves, e.g. the reactive use case, publish the template they built
+    public ChecklistTemplate offer(ChecklistTemplate loaded) {
+        // A slower load of an older version must not replace a newer template
+        current.accumulateAndGet(loaded, (previous, candidate) ->
+                previous == null || candidate.version() > previous.version() ? candidate : previous);
+        return loaded;
+    }
+
+    public long catalogChanged() {
+        return catalogVersion.incrementAndGet();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        catalogChanged();
+    }
+}
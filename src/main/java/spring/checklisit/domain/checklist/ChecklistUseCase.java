@@ -4,113 +4,233 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ChecklistUseCase {
     private final ChecklistPort checklistPort;
+    private final ChecklistSettings settings;
+    private final ChecklistTemplateRegistry templates;
+    private final ConcurrentReads concurrentReads;
+    private final ConflictRetry conflictRetry;
+    private final CompletionWriteBuffer writeBuffer;
 
     public List<ChecklistItem> getAllItems() {
         return checklistPort.findAllItems();
     }
 
+    public List<ChecklistItem> getItems(ChecklistItemQuery query) {
+        return checklistPort.findItems(query);
+    }
+
+    public ItemPage getItemPage(ChecklistItemQuery query, ItemCursor after, int limit) {
+        return checklistPort.findItemPage(query, after, limit);
+    }
+
+    public Stream<ChecklistItem> streamItems(ChecklistItemQuery query) {
+        return checklistPort.streamItems(query);
+    }
+
     public List<ChecklistItem> createItems(List<ChecklistItem> items) {
-        return checklistPort.saveAllItems(items);
+        try {
+            return checklistPort.saveAllItems(items);
+        } finally {
+            templates.catalogChanged();
+        }
     }
 
-    public List<ChecklistItem> updateItems(List<ChecklistItem> items) {
+    public ItemSyncResult updateItems(List<ChecklistItem> items) {
         items.forEach(item -> {
             if (item.getId() == null || item.getId().isBlank()) {
                 throw new IllegalArgumentException("Item id is required for update");
             }
-            checklistPort.findItemById(item.getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("ChecklistItem not found with id: " + item.getId()));
         });
 
-        // Sync: delete items not in the update request
+        Map<String, ChecklistItem> currentItems = checklistPort.findAllItems().stream()
+                .collect(Collectors.toMap(ChecklistItem::getId, Function.identity()));
+
+        List<ChecklistItem> updated = new ArrayList<>();
+        List<ChecklistItem> unchanged = new ArrayList<>();
+        for (ChecklistItem item : items) {
+            ChecklistItem current = currentItems.get(item.getId());
+            if (current == null) {
+                throw new ResourceNotFoundException("ChecklistItem not found with id: " + item.getId());
+            }
+            if (isUnchanged(current, item)) {
+                item.setVersion(current.getVersion());
+                unchanged.add(item);
+            } else {
+                updated.add(withExpectedVersion(item, current));
+            }
+        }
+
+        // Sync: delete items not in the update request, but only at the version read here
         Set<String> updateIds = items.stream()
                 .map(ChecklistItem::getId)
                 .collect(Collectors.toSet());
+        List<ChecklistItem> deleted = currentItems.values().stream()
+                .filter(item -> !updateIds.contains(item.getId()))
+                .toList();
+        List<String> deletedIds = deleted.stream().map(ChecklistItem::getId).toList();
 
-        checklistPort.findAllItems().stream()
-                .map(ChecklistItem::getId)
-                .filter(id -> !updateIds.contains(id))
-                .forEach(checklistPort::deleteItemById);
+        if (!updated.isEmpty() || !deleted.isEmpty()) {
+            try {
+                checklistPort.applyItemChanges(updated, deleted);
+            } finally {
+                templates.catalogChanged();
+            }
+        }
+
+        return new ItemSyncResult(items, updated, unchanged, deletedIds);
+    }
 
-        return checklistPort.saveAllItems(items);
+    // The version is bookkeeping rather than content, so a stale one alone does not make an item changed
+    static boolean isUnchanged(ChecklistItem current, ChecklistItem item) {
+        return current.equals(item.toBuilder().version(current.getVersion()).build());
+    }
+
+    // Clients that send no version update the item as it was just read; the write still fails if it moved since
+    static ChecklistItem withExpectedVersion(ChecklistItem item, ChecklistItem current) {
+        if (item.getVersion() == null) {
+            item.setVersion(current.getVersion());
+        }
+        return item;
     }
 
     public void deleteItem(String id) {
         checklistPort.findItemById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("ChecklistItem not found with id: " + id));
-        checklistPort.deleteItemById(id);
+        try {
+            checklistPort.deleteItemById(id);
+        } finally {
+            templates.catalogChanged();
+        }
     }
 
-    public UserChecklist getTodayChecklist() {
+    public UserChecklist getTodayChecklist(String userId) {
         LocalDate today = LocalDate.now();
-        return checklistPort.findUserChecklistByDate(today)
+        return checklistPort.findUserChecklistByDate(userId, today)
+                .or(() -> materializeIfLazy(userId, today))
+                .map(writeBuffer::overlay)
                 .orElseThrow(() -> new ResourceNotFoundException("No checklist found for today"));
     }
 
-    public UserChecklist markItemComplete(String itemId) {
-        return updateItemCompletion(itemId, true);
+    // Spans live and archived days; callers cannot tell where a day is stored
+    public List<UserChecklist> getChecklistHistory(String userId, LocalDate from, LocalDate to) {
+        ChecklistAnalyticsUseCase.requireRange(from, to);
+        return checklistPort.findUserChecklistHistory(userId, from, to);
+    }
+
+    public UserChecklist markItemComplete(String userId, String itemId) {
+        return updateItemCompletion(userId, itemId, true);
     }
 
-    public UserChecklist markItemUncomplete(String itemId) {
-        return updateItemCompletion(itemId, false);
+    public UserChecklist markItemUncomplete(String userId, String itemId) {
+        return updateItemCompletion(userId, itemId, false);
     }
 
-    private UserChecklist updateItemCompletion(String itemId, boolean complete) {
+    public CompletionBatchResult applyCompletionBatch(String userId, CompletionBatch batch) {
+        if (batch.isEmpty()) {
+            return new CompletionBatchResult(getTodayChecklist(userId), List.of());
+        }
         LocalDate today = LocalDate.now();
-        UserChecklist checklist = checklistPort.findUserChecklistByDate(today)
-                .orElseThrow(() -> new ResourceNotFoundException("No checklist found for today"));
+        // Buffered toggles are older than this batch, so they have to land first
+        writeBuffer.flush(new UserChecklistKey(userId, today));
+        // Completion targets are absolute, so re-applying them after losing a version race is always safe
+        UserChecklist checklist = conflictRetry.run(() -> checklistPort.applyCompletionBatch(userId, today, batch)
+                .or(() -> materializeIfLazy(userId, today)
+                        .flatMap(materialized -> checklistPort.applyCompletionBatch(userId, today, batch)))
+                .orElseThrow(() -> new ResourceNotFoundException("No checklist found for today")));
+        return new CompletionBatchResult(checklist, notFoundIds(checklist, batch));
+    }
 
-        boolean itemFound = false;
-        for (UserChecklistItem item : checklist.getItems()) {
-            if (item.getItemId().equals(itemId)) {
-                item.setComplete(complete);
-                itemFound = true;
-                break;
-            }
+    private UserChecklist updateItemCompletion(String userId, String itemId, boolean complete) {
+        if (writeBuffer.isEnabled()) {
+            return bufferItemCompletion(userId, itemId, complete);
+        }
+        LocalDate today = LocalDate.now();
+        // A toggle sets a target state, so re-running it after a conflict is safe
+        Optional<UserChecklist> updated =
+                conflictRetry.run(() -> checklistPort.updateItemCompletion(userId, today, itemId, complete));
+        if (updated.isPresent()) {
+            return updated.get();
         }
 
-        if (!itemFound) {
-            throw new ResourceNotFoundException("Item not found in today's checklist with id: " + itemId);
+        // Not-found path: tell a missing checklist apart from a missing item, materializing the day if lazy
+        if (checklistPort.findUserChecklistByDate(userId, today).or(() -> materializeIfLazy(userId, today)).isEmpty()) {
+            throw new ResourceNotFoundException("No checklist found for today");
         }
+        return conflictRetry.run(() -> checklistPort.updateItemCompletion(userId, today, itemId, complete))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Item not found in today's checklist with id: " + itemId));
+    }
 
-        return checklistPort.saveUserChecklist(checklist);
+    private UserChecklist bufferItemCompletion(String userId, String itemId, boolean complete) {
+        UserChecklist current = getTodayChecklist(userId);
+        if (current.getItems().stream().noneMatch(item -> item.getItemId().equals(itemId))) {
+            throw new ResourceNotFoundException("Item not found in today's checklist with id: " + itemId);
+        }
+        writeBuffer.record(UserChecklistKey.of(current), itemId, complete);
+        // Read again rather than patching current, in case a flush landed in between
+        return getTodayChecklist(userId);
     }
 
-    public UserChecklist resetChecklist() {
-        LocalDate today = LocalDate.now();
+    // The upsert only inserts when no document exists, so concurrent first readers end up with the same snapshot
+    private Optional<UserChecklist> materializeIfLazy(String userId, LocalDate date) {
+        if (!settings.lazyMaterialization()) {
+            return Optional.empty();
+        }
+        return Optional.of(checklistPort.materializeUserChecklist(userId, date, templates.current().items()));
+    }
 
-        List<ChecklistItem> activeItems = checklistPort.findAllItems().stream()
-                .filter(item -> item.getStatus() == Status.ACTIVE)
+    static List<String> notFoundIds(UserChecklist checklist, CompletionBatch batch) {
+        Set<String> itemIds = checklist.getItems().stream()
+                .map(UserChecklistItem::getItemId)
+                .collect(Collectors.toSet());
+        return batch.items().keySet().stream()
+                .filter(itemId -> !itemIds.contains(itemId))
+                .sorted()
                 .toList();
+    }
 
-        List<UserChecklistItem> userItems = activeItems.stream()
-                .map(item -> UserChecklistItem.builder()
-                        .itemId(item.getId())
-                        .label(item.getLabel())
-                        .category(item.getCategory())
-                        .order(item.getOrder())
-                        .complete(item.isComplete())
-                        .build())
-                .toList();
+    public UserChecklist resetChecklist(String userId) {
+        // A reset overwrites the day with the template whatever the outcome of a race, so conflicts just re-run it
+        return conflictRetry.run(() -> resetChecklist(userId, LocalDate.now()));
+    }
 
-        UserChecklist checklist = checklistPort.findUserChecklistByDate(today)
-                .map(existing -> {
-                    existing.setItems(userItems);
-                    return existing;
-                })
+    private UserChecklist resetChecklist(String userId, LocalDate today) {
+        // Otherwise toggles buffered before the reset would be flushed on top of it
+        writeBuffer.flush(new UserChecklistKey(userId, today));
+        // Right after a catalog change the template has to be loaded from Mongo, and today's checklist is an
+        // independent read, so the two run side by side; a cached template is simply taken inline
+        UserChecklist checklist = templates.cached(templates.version())
+                .map(template -> resetOf(userId, today, template.items(),
+                        checklistPort.findUserChecklistByDate(userId, today)))
+                .orElseGet(() -> concurrentReads.join(
+                        () -> templates.current().items(),
+                        () -> checklistPort.findUserChecklistByDate(userId, today),
+                        (userItems, existing) -> resetOf(userId, today, userItems, existing)));
+
+        return checklistPort.saveUserChecklist(checklist);
+    }
+
+    private static UserChecklist resetOf(String userId, LocalDate today, List<UserChecklistItem> userItems,
+                                         Optional<UserChecklist> existing) {
+        return existing
+                // The found checklist may be the cached instance, so the reset is a copy
+                .map(current -> current.toBuilder().items(userItems).build())
                 .orElse(UserChecklist.builder()
+                        .userId(userId)
                         .date(today)
                         .items(userItems)
                         .build());
-
-        return checklistPort.saveUserChecklist(checklist);
     }
 }
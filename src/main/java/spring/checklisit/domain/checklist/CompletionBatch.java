@@ -0,0 +1,35 @@
+package spring.checklisit.domain.checklist;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Target completion per item id and per category; an item listed by id ignores its category's target
+public record CompletionBatch(
+        Map<String, Boolean> items,
+        Map<Category, Boolean> categories
+) {
+    public CompletionBatch {
+        items = items == null ? Map.of() : Map.copyOf(items);
+        categories = categories == null ? Map.of() : Map.copyOf(categories);
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty() && categories.isEmpty();
+    }
+
+    public Optional<Boolean> targetOf(UserChecklistItem item) {
+        Boolean target = items.get(item.getItemId());
+        return Optional.ofNullable(target != null ? target : categories.get(item.getCategory()));
+    }
+
+    // Items whose state does not change are returned as is, so callers can spot changes by identity
+    public List<UserChecklistItem> applyTo(List<UserChecklistItem> checklistItems) {
+        return checklistItems.stream()
+                .map(item -> targetOf(item)
+                        .filter(complete -> complete != item.isComplete())
+                        .map(complete -> item.toBuilder().complete(complete).build())
+                        .orElse(item))
+                .toList();
+    }
+}
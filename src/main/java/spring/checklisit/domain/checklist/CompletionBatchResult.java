@@ -0,0 +1,9 @@
+package spring.checklisit.domain.checklist;
+
+import java.util.List;
+
+public record CompletionBatchResult(
+        UserChecklist checklist,
+        List<String> notFoundIds
+) {
+}
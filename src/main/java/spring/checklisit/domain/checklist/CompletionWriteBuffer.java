@@ -0,0 +1,213 @@
+package spring.checklisit.domain.checklist;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Write-behind for completion toggles: toggles on the same checklist are folded per item, last value wins, and
+// written as one completion batch when the window closes or enough changes piled up. Targets are absolute, so
+// folding never changes the outcome, only the number of writes. Acknowledged toggles live only in memory until
+// flushed, which is why this is opt-in.
+@Slf4j
+@Component
+public class CompletionWriteBuffer {
+    private final ChecklistPort checklistPort;
+    private final ConflictRetry conflictRetry;
+    private final WriteBehindSettings settings;
+    private final Map<UserChecklistKey, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<UserChecklistKey, InFlight> flushing = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("checklist-write-behind").factory());
+
+    public CompletionWriteBuffer(ChecklistPort checklistPort, ConflictRetry conflictRetry, WriteBehindSettings settings) {
+        this.checklistPort = checklistPort;
+        this.conflictRetry = conflictRetry;
+        this.settings = settings;
+    }
+
+    public boolean isEnabled() {
+        return settings.enabled();
+    }
+
+    public void record(UserChecklistKey key, String itemId, boolean complete) {
+        Pending folded = pending.compute(key, (ignored, current) -> current == null
+                ? Pending.first(itemId, complete)
+                : current.with(itemId, complete));
+        if (folded.changes() >= settings.maxChanges()) {
+            flush(key);
+        } else if (folded.changes() == 1) {
+            // The window starts at the first change, so a steady stream of taps cannot postpone the write forever
+            scheduleFlush(key);
+        }
+    }
+
+    // Reads see their own buffered toggles, including ones being written right now; the cached checklist itself is
+    // never modified. Pending is read before flushing, since a flush publishes a batch as flushing before it stops
+    // being pending.
+    public UserChecklist overlay(UserChecklist checklist) {
+        UserChecklistKey key = UserChecklistKey.of(checklist);
+        Pending buffered = pending.get(key);
+        InFlight inFlight = flushing.get(key);
+        Map<String, Boolean> targets = new LinkedHashMap<>();
+        if (inFlight != null && inFlight.isNewerThan(checklist)) {
+            targets.putAll(inFlight.batch().items());
+        }
+        if (buffered != null) {
+            targets.putAll(buffered.items());
+        }
+        if (targets.isEmpty()) {
+            return checklist;
+        }
+        List<UserChecklistItem> items = new CompletionBatch(targets, Map.of()).applyTo(checklist.getItems());
+        return UserChecklist.builder()
+                .id(checklist.getId())
+                .userId(checklist.getUserId())
+                .date(checklist.getDate())
+                .items(items)
+                .version(checklist.getVersion())
+                .build();
+    }
+
+    // Flushes of one checklist are serialized, so an older batch can never land after a newer one. A caller that
+    // finds a write running waits for it outside any lock and then writes whatever was buffered meanwhile.
+    public void flush(UserChecklistKey key) {
+        while (true) {
+            InFlight running = flushing.get(key);
+            if (running != null && !running.isWritten()) {
+                running.done().join();
+                continue;
+            }
+            Claim claim = claim(key);
+            if (claim.busy()) {
+                continue;
+            }
+            if (claim.batch() != null) {
+                write(key, claim.batch(), claim.inFlight());
+            }
+            return;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (!settings.flushOnShutdown()) {
+            if (!pending.isEmpty()) {
+                log.warn("Dropping buffered toggles for {} checklists on shutdown", pending.size());
+            }
+            return;
+        }
+        List.copyOf(pending.keySet()).forEach(this::flush);
+    }
+
+    // Moves the buffered toggles to flushing in one step, so overlay always finds them in one of the two maps
+    private Claim claim(UserChecklistKey key) {
+        Claim[] claim = {Claim.NOTHING};
+        pending.computeIfPresent(key, (ignored, current) -> {
+            InFlight running = flushing.get(key);
+            if (running != null && !running.isWritten()) {
+                claim[0] = Claim.BUSY;
+                return current;
+            }
+            InFlight started = new InFlight(current, null, new CompletableFuture<>());
+            flushing.put(key, started);
+            claim[0] = new Claim(current, started, false);
+            return null;
+        });
+        return claim[0];
+    }
+
+    private void write(UserChecklistKey key, Pending flushed, InFlight started) {
+        CompletionBatch batch = new CompletionBatch(flushed.items(), Map.of());
+        Long writtenVersion = null;
+        try {
+            writtenVersion = conflictRetry.run(() -> checklistPort.applyCompletionBatch(key.userId(), key.date(), batch))
+                    .map(UserChecklist::getVersion)
+                    .orElse(null);
+        } catch (RuntimeException ex) {
+            // The toggles were already acknowledged, so any failure puts them back; toggles recorded meanwhile are
+            // newer and win over them
+            if (ex instanceof TransientDataAccessException || ex instanceof DataAccessResourceFailureException) {
+                log.warn("Flushing buffered toggles for {} failed, retrying next window", key, ex);
+            } else {
+                log.error("Flushing buffered toggles for {} failed, retrying next window", key, ex);
+            }
+            pending.merge(key, flushed, (newer, failed) -> failed.followedBy(newer));
+            scheduleFlush(key);
+        } finally {
+            settle(key, started, writtenVersion);
+        }
+    }
+
+    // A reader may have fetched the checklist just before the write landed, so a written batch keeps overlaying
+    // older versions for one more window before it is forgotten
+    private void settle(UserChecklistKey key, InFlight started, Long writtenVersion) {
+        if (writtenVersion == null || scheduler.isShutdown()) {
+            flushing.remove(key, started);
+        } else {
+            InFlight written = new InFlight(started.batch(), writtenVersion, started.done());
+            flushing.replace(key, started, written);
+            scheduler.schedule(() -> flushing.remove(key, written), settings.window().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        started.done().complete(null);
+        // Toggles recorded while this write ran may have had their own flush turned away
+        if (pending.containsKey(key)) {
+            scheduleFlush(key);
+        }
+    }
+
+    private void scheduleFlush(UserChecklistKey key) {
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(() -> Thread.ofVirtual().start(() -> flush(key)),
+                    settings.window().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private record Claim(Pending batch, InFlight inFlight, boolean busy) {
+        static final Claim NOTHING = new Claim(null, null, false);
+        static final Claim BUSY = new Claim(null, null, true);
+    }
+
+    // writtenVersion stays null until the batch is stored; done completes once the write has settled either way
+    private record InFlight(Pending batch, Long writtenVersion, CompletableFuture<Void> done) {
+        boolean isWritten() {
+            return writtenVersion != null;
+        }
+
+        boolean isNewerThan(UserChecklist checklist) {
+            return writtenVersion == null
+                    || checklist.getVersion() == null
+                    || checklist.getVersion() < writtenVersion;
+        }
+    }
+
+    private record Pending(Map<String, Boolean> items, int changes) {
+        static Pending first(String itemId, boolean complete) {
+            return new Pending(Map.of(itemId, complete), 1);
+        }
+
+        Pending with(String itemId, boolean complete) {
+            Map<String, Boolean> folded = new LinkedHashMap<>(items);
+            folded.put(itemId, complete);
+            return new Pending(Collections.unmodifiableMap(folded), changes + 1);
+        }
+
+        Pending followedBy(Pending newer) {
+            Map<String, Boolean> folded = new LinkedHashMap<>(items);
+            folded.putAll(newer.items());
+            return new Pending(Collections.unmodifiableMap(folded), changes + newer.changes());
+        }
+    }
+}
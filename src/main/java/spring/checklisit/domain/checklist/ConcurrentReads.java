@@ -0,0 +1,69 @@
+package spring.checklisit.domain.checklist;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+// Runs independent Mongo reads side by side on virtual threads. Forks are capped across all callers so a burst of
+// requests cannot drain the Mongo connection pool; once the cap is reached the read simply runs on the caller.
+@Component
+public class ConcurrentReads {
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ConcurrentReads(ChecklistSettings settings) {
+        this.permits = new Semaphore(settings.readConcurrency());
+    }
+
+    public <A, B, R> R join(Supplier<A> first, Supplier<B> second, BiFunction<A, B, R> combiner) {
+        // A forked read is never cancelled: it is short, and it must run to release its permit
+        Future<A> forked = fork(first);
+        B secondResult = second.get();
+        return combiner.apply(await(forked), secondResult);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+
+    private <T> Future<T> fork(Supplier<T> task) {
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    return task.get();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a concurrent read", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Concurrent read failed", ex.getCause());
+        }
+    }
+}
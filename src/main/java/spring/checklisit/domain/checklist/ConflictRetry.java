@@ -0,0 +1,59 @@
+package spring.checklisit.domain.checklist;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Re-runs read-modify-write operations that lost a version check (or a first-insert race) to a concurrent writer.
+// Only operations whose outcome does not depend on the interleaving go through here, such as resets and completion
+// targets; everything else surfaces the conflict to the caller.
+@Component
+public class ConflictRetry {
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public ConflictRetry(ChecklistSettings settings) {
+        this.maxAttempts = Math.max(1, settings.conflictAttempts());
+        this.backoff = settings.conflictBackoff();
+    }
+
+    public <T> T run(Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticLockingFailureException | DuplicateKeyException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                pause(attempt, ex);
+            }
+        }
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration backoff() {
+        return backoff;
+    }
+
+    public static boolean isConflict(Throwable ex) {
+        return ex instanceof OptimisticLockingFailureException || ex instanceof DuplicateKeyException;
+    }
+
+    // Exponential backoff with full jitter, so writers that collided once do not collide again in lockstep
+    private void pause(int attempt, RuntimeException conflict) {
+        long ceiling = backoff.toNanos() << Math.min(attempt - 1, 16);
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1)));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package spring.checklisit.domain.checklist;
+
+import java.time.LocalDate;
+
+public record DailyCompletionStats(
+        LocalDate date,
+        long assigned,
+        long completed
+) {
+    public double rate() {
+        return assigned == 0 ? 0 : (double) completed / assigned;
+    }
+}
@@ -0,0 +1,12 @@
+package spring.checklisit.domain.checklist;
+
+public record ItemCompletionStats(
+        String itemId,
+        Category category,
+        long assigned,
+        long completed
+) {
+    public double rate() {
+        return assigned == 0 ? 0 : (double) completed / assigned;
+    }
+}
@@ -0,0 +1,37 @@
+package spring.checklisit.domain.checklist;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+public record ItemCursor(Category category, int order, String id) {
+
+    private static final Comparator<ChecklistItem> KEYSET_ORDER = ItemSort.CATEGORY_ORDER.getComparator();
+
+    public static ItemCursor of(ChecklistItem item) {
+        return new ItemCursor(item.getCategory(), item.getOrder(), item.getId());
+    }
+
+    public static ItemCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+            return new ItemCursor(Category.valueOf(parts[0]), Integer.parseInt(parts[1]), parts[2]);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = category.name() + "|" + order + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean precedes(ChecklistItem item) {
+        ChecklistItem cursorItem = ChecklistItem.builder()
+                .category(category)
+                .order(order)
+                .id(id)
+                .build();
+        return KEYSET_ORDER.compare(cursorItem, item) < 0;
+    }
+}
@@ -0,0 +1,6 @@
+package spring.checklisit.domain.checklist;
+
+import java.util.List;
+
+public record ItemPage(List<ChecklistItem> items, ItemCursor next) {
+}
@@ -0,0 +1,22 @@
+package spring.checklisit.domain.checklist;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Comparator;
+
+@Getter
+@RequiredArgsConstructor
+public enum ItemSort {
+    NONE(null),
+    CATEGORY_ORDER(Comparator.comparing((ChecklistItem item) -> item.getCategory().name())
+            .thenComparingInt(ChecklistItem::getOrder)
+            .thenComparing(ChecklistItem::getId)),
+    ORDER(Comparator.comparingInt(ChecklistItem::getOrder)
+            .thenComparing(ChecklistItem::getId)),
+    LABEL(Comparator.comparing(ChecklistItem::getLabel)
+            .thenComparing(ChecklistItem::getId));
+
+    // Categories compare by name so in-memory ordering matches how Mongo sorts the stored strings
+    private final Comparator<ChecklistItem> comparator;
+}
@@ -0,0 +1,11 @@
+package spring.checklisit.domain.checklist;
+
+import java.util.List;
+
+public record ItemSyncResult(
+        List<ChecklistItem> items,
+        List<ChecklistItem> updated,
+        List<ChecklistItem> unchanged,
+        List<String> deletedIds
+) {
+}
@@ -0,0 +1,22 @@
+package spring.checklisit.domain.checklist;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReactiveChecklistPort {
+    Flux<ChecklistItem> findItems(ChecklistItemQuery query);
+    Mono<ItemPage> findItemPage(ChecklistItemQuery query, ItemCursor after, int limit);
+    Mono<ChecklistItem> findItemById(String id);
+    Flux<ChecklistItem> saveAllItems(List<ChecklistItem> items);
+    Mono<Void> deleteItemById(String id);
+    Mono<Void> applyItemChanges(List<ChecklistItem> updatedItems, List<ChecklistItem> deletedItems);
+
+    Mono<UserChecklist> findUserChecklistByDate(String userId, LocalDate date);
+    Mono<UserChecklist> saveUserChecklist(UserChecklist userChecklist);
+    Mono<UserChecklist> materializeUserChecklist(String userId, LocalDate date, List<UserChecklistItem> items);
+    Mono<UserChecklist> updateItemCompletion(String userId, LocalDate date, String itemId, boolean complete);
+    Mono<UserChecklist> applyCompletionBatch(String userId, LocalDate date, CompletionBatch batch);
+}
@@ -0,0 +1,173 @@
+package spring.checklisit.domain.checklist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Non-blocking counterpart of ChecklistUseCase, wired only under the reactive profile
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveChecklistUseCase {
+    private final ReactiveChecklistPort checklistPort;
+    private final ChecklistSettings settings;
+    private final ChecklistTemplateRegistry templates;
+    private final ConflictRetry conflictRetry;
+
+    public Flux<ChecklistItem> getItems(ChecklistItemQuery query) {
+        return checklistPort.findItems(query);
+    }
+
+    public Mono<ItemPage> getItemPage(ChecklistItemQuery query, ItemCursor after, int limit) {
+        return checklistPort.findItemPage(query, after, limit);
+    }
+
+    public Flux<ChecklistItem> createItems(List<ChecklistItem> items) {
+        return checklistPort.saveAllItems(items)
+                .doFinally(signal -> templates.catalogChanged());
+    }
+
+    public Mono<ItemSyncResult> updateItems(List<ChecklistItem> items) {
+        for (ChecklistItem item : items) {
+            if (item.getId() == null || item.getId().isBlank()) {
+                return Mono.error(new IllegalArgumentException("Item id is required for update"));
+            }
+        }
+
+        return checklistPort.findItems(ChecklistItemQuery.builder().build())
+                .collectMap(ChecklistItem::getId)
+                .flatMap(currentItems -> {
+                    List<ChecklistItem> updated = new ArrayList<>();
+                    List<ChecklistItem> unchanged = new ArrayList<>();
+                    for (ChecklistItem item : items) {
+                        ChecklistItem current = currentItems.get(item.getId());
+                        if (current == null) {
+                            return Mono.error(new ResourceNotFoundException(
+                                    "ChecklistItem not found with id: " + item.getId()));
+                        }
+                        if (ChecklistUseCase.isUnchanged(current, item)) {
+                            item.setVersion(current.getVersion());
+                            unchanged.add(item);
+                        } else {
+                            updated.add(ChecklistUseCase.withExpectedVersion(item, current));
+                        }
+                    }
+
+                    // Sync: delete items not in the update request, but only at the version read here
+                    List<ChecklistItem> deleted = deletedItems(currentItems, items);
+                    List<String> deletedIds = deleted.stream().map(ChecklistItem::getId).toList();
+                    ItemSyncResult result = new ItemSyncResult(items, updated, unchanged, deletedIds);
+                    if (updated.isEmpty() && deleted.isEmpty()) {
+                        return Mono.just(result);
+                    }
+                    return checklistPort.applyItemChanges(updated, deleted)
+                            .doFinally(signal -> templates.catalogChanged())
+                            .thenReturn(result);
+                });
+    }
+
+    public Mono<Void> deleteItem(String id) {
+        return checklistPort.findItemById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("ChecklistItem not found with id: " + id)))
+                .then(checklistPort.deleteItemById(id)
+                        .doFinally(signal -> templates.catalogChanged()));
+    }
+
+    public Mono<UserChecklist> getTodayChecklist(String userId) {
+        LocalDate today = LocalDate.now();
+        return checklistPort.findUserChecklistByDate(userId, today)
+                .switchIfEmpty(Mono.defer(() -> materializeIfLazy(userId, today)))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No checklist found for today")));
+    }
+
+    public Mono<UserChecklist> markItemComplete(String userId, String itemId) {
+        return updateItemCompletion(userId, itemId, true);
+    }
+
+    public Mono<UserChecklist> markItemUncomplete(String userId, String itemId) {
+        return updateItemCompletion(userId, itemId, false);
+    }
+
+    public Mono<CompletionBatchResult> applyCompletionBatch(String userId, CompletionBatch batch) {
+        if (batch.isEmpty()) {
+            return getTodayChecklist(userId).map(checklist -> new CompletionBatchResult(checklist, List.of()));
+        }
+        LocalDate today = LocalDate.now();
+        return Mono.defer(() -> checklistPort.applyCompletionBatch(userId, today, batch))
+                .switchIfEmpty(Mono.defer(() -> materializeIfLazy(userId, today)
+                        .flatMap(materialized -> checklistPort.applyCompletionBatch(userId, today, batch))))
+                .retryWhen(onConflict())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No checklist found for today")))
+                .map(checklist -> new CompletionBatchResult(checklist, ChecklistUseCase.notFoundIds(checklist, batch)));
+    }
+
+    public Mono<UserChecklist> resetChecklist(String userId) {
+        LocalDate today = LocalDate.now();
+        return template().flatMap(userItems -> checklistPort.findUserChecklistByDate(userId, today)
+                .map(existing -> existing.toBuilder().items(userItems).build())
+                .defaultIfEmpty(UserChecklist.builder()
+                        .userId(userId)
+                        .date(today)
+                        .items(userItems)
+                        .build())
+                .flatMap(checklistPort::saveUserChecklist))
+                .retryWhen(onConflict());
+    }
+
+    private Mono<UserChecklist> updateItemCompletion(String userId, String itemId, boolean complete) {
+        LocalDate today = LocalDate.now();
+        // Not-found path: tell a missing checklist apart from a missing item, materializing the day if lazy
+        return checklistPort.updateItemCompletion(userId, today, itemId, complete)
+                .switchIfEmpty(Mono.defer(() -> checklistPort.findUserChecklistByDate(userId, today)
+                        .switchIfEmpty(Mono.defer(() -> materializeIfLazy(userId, today)))
+                        .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No checklist found for today")))
+                        .flatMap(checklist -> checklistPort.updateItemCompletion(userId, today, itemId, complete))
+                        .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                                "Item not found in today's checklist with id: " + itemId)))));
+    }
+
+    // The reactive form of ConflictRetry, kept here so Reactor stays out of the types the blocking stack shares
+    private Retry onConflict() {
+        return Retry.backoff(conflictRetry.maxAttempts() - 1, conflictRetry.backoff())
+                .jitter(0.5)
+                .filter(ConflictRetry::isConflict)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private Mono<UserChecklist> materializeIfLazy(String userId, LocalDate date) {
+        if (!settings.lazyMaterialization()) {
+            return Mono.empty();
+        }
+        return template().flatMap(userItems -> checklistPort.materializeUserChecklist(userId, date, userItems));
+    }
+
+    // Shares the blocking side's versioned template, loading it through the reactive port on a miss
+    private Mono<List<UserChecklistItem>> template() {
+        long version = templates.version();
+        return templates.cached(version)
+                .map(template -> Mono.just(template.items()))
+                .orElseGet(() -> checklistPort.findItems(ChecklistItemQuery.ACTIVE_SNAPSHOT_ITEMS)
+                        .map(UserChecklistItem::from)
+                        .collectList()
+                        .map(userItems -> templates.offer(new ChecklistTemplate(version, userItems)).items()));
+    }
+
+    private static List<ChecklistItem> deletedItems(Map<String, ChecklistItem> currentItems, List<ChecklistItem> items) {
+        Set<String> updateIds = items.stream()
+                .map(ChecklistItem::getId)
+                .collect(Collectors.toSet());
+        return currentItems.values().stream()
+                .filter(item -> !updateIds.contains(item.getId()))
+                .toList();
+    }
+}
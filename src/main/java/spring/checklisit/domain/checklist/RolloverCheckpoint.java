@@ -0,0 +1,27 @@
+package spring.checklisit.domain.checklist;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+@Document(collection = "rollover_checkpoints")
+public record RolloverCheckpoint(
+        @Id LocalDate date,
+        String lastUserId,
+        long processedUsers,
+        long createdChecklists,
+        boolean completed
+) {
+    public static RolloverCheckpoint start(LocalDate date) {
+        return new RolloverCheckpoint(date, null, 0, 0, false);
+    }
+
+    public RolloverCheckpoint advance(String lastUserId, int users, long created) {
+        return new RolloverCheckpoint(date, lastUserId, processedUsers + users, createdChecklists + created, false);
+    }
+
+    public RolloverCheckpoint complete() {
+        return new RolloverCheckpoint(date, lastUserId, processedUsers, createdChecklists, true);
+    }
+}
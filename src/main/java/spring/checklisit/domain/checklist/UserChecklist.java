@@ -5,19 +5,25 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "user_checklists")
 public class UserChecklist {
+    public static final String DEFAULT_USER_ID = "default";
+
     @Id
     private String id;
+    private String userId;
     private LocalDate date;
     private List<UserChecklistItem> items;
+    @Version
+    private Long version;
 }
@@ -2,12 +2,12 @@ package spring.checklisit.domain.checklist;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@Data
-@Builder
-@NoArgsConstructor
+// Immutable, because the checklist template hands the same instances to every reset and rollover checklist;
+// a change is a new instance via toBuilder()
+@Value
+@Builder(toBuilder = true)
 @AllArgsConstructor
 public class UserChecklistItem {
     private String itemId;
@@ -15,4 +15,14 @@ public class UserChecklistItem {
     private Category category;
     private int order;
     private boolean complete;
+
+    public static UserChecklistItem from(ChecklistItem item) {
+        return UserChecklistItem.builder()
+                .itemId(item.getId())
+                .label(item.getLabel())
+                .category(item.getCategory())
+                .order(item.getOrder())
+                .complete(item.isComplete())
+                .build();
+    }
 }
@@ -0,0 +1,10 @@
+package spring.checklisit.domain.checklist;
+
+import java.time.LocalDate;
+
+public record UserChecklistKey(String userId, LocalDate date) {
+
+    public static UserChecklistKey of(UserChecklist checklist) {
+        return new UserChecklistKey(checklist.getUserId(), checklist.getDate());
+    }
+}
@@ -0,0 +1,15 @@
+package spring.checklisit.domain.checklist;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "checklist.write-behind")
+public record WriteBehindSettings(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("250ms") Duration window,
+        @DefaultValue("16") int maxChanges,
+        @DefaultValue("true") boolean flushOnShutdown
+) {
+}
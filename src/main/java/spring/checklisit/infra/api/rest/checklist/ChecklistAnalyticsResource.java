@@ -0,0 +1,65 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.ChecklistAnalyticsUseCase;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/checklist/analytics")
+@RequiredArgsConstructor
+public class ChecklistAnalyticsResource {
+
+    private static final int DEFAULT_RANGE_DAYS = 90;
+
+    private final ChecklistAnalyticsUseCase analyticsUseCase;
+
+    @GetMapping("/items")
+    public ResponseEntity<List<ItemCompletionStatsDto>> getItemCompletion(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = endOf(to);
+        List<ItemCompletionStatsDto> stats = analyticsUseCase.getItemCompletion(startOf(from, end), end).stream()
+                .map(ItemCompletionStatsDto::fromEntity)
+                .toList();
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailyCompletionStatsDto>> getDailyCompletion(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Category category) {
+        LocalDate end = endOf(to);
+        List<DailyCompletionStatsDto> stats = analyticsUseCase.getDailyCompletion(startOf(from, end), end, category).stream()
+                .map(DailyCompletionStatsDto::fromEntity)
+                .toList();
+        return ResponseEntity.ok(stats);
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<RollupRebuildDto> rebuildRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(new RollupRebuildDto(from, to, analyticsUseCase.rebuildRollups(from, to)));
+    }
+
+    private static LocalDate endOf(LocalDate to) {
+        return to == null ? LocalDate.now() : to;
+    }
+
+    private static LocalDate startOf(LocalDate from, LocalDate end) {
+        return from == null ? end.minusDays(DEFAULT_RANGE_DAYS - 1) : from;
+    }
+}
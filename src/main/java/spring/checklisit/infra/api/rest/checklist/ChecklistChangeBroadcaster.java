@@ -0,0 +1,124 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import spring.checklisit.domain.checklist.ChecklistChange;
+import spring.checklisit.domain.checklist.ChecklistChange.CatalogChange;
+import spring.checklisit.domain.checklist.ChecklistChange.UserChecklistChange;
+import spring.checklisit.domain.checklist.UserChecklist;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Fans the shared change stream out to SSE subscribers. Each subscriber drains its own bounded queue on a virtual
+// thread, so a slow client only ever falls behind itself; on overflow its backlog is replaced by a resync event.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "checklist.stream", name = "enabled", havingValue = "true")
+public class ChecklistChangeBroadcaster {
+
+    private static final OutboundEvent CATALOG = new OutboundEvent("catalog", "");
+    private static final OutboundEvent RESYNC = new OutboundEvent("resync", "");
+
+    private final ChecklistStreamProperties properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public SseEmitter subscribe(String userId) {
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter, new ArrayBlockingQueue<>(properties.queueCapacity()));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        Thread.ofVirtual().name("checklist-sse-" + userId).start(() -> drain(subscriber));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onChange(ChecklistChange change) {
+        switch (change) {
+            case UserChecklistChange userChange -> {
+                if (!userChange.date().equals(LocalDate.now())) {
+                    return;
+                }
+                OutboundEvent event = userChange.snapshot()
+                        ? new OutboundEvent("snapshot", UserChecklistDto.fromEntity(UserChecklist.builder()
+                                .id(userChange.id())
+                                .userId(userChange.userId())
+                                .date(userChange.date())
+                                .items(userChange.items())
+                                .version(userChange.version())
+                                .build()))
+                        : new OutboundEvent("delta", ChecklistDeltaDto.fromChange(userChange));
+                subscribers.stream()
+                        .filter(subscriber -> subscriber.userId().equals(userChange.userId()))
+                        .forEach(subscriber -> subscriber.offer(event));
+            }
+            case CatalogChange catalogChange -> subscribers.forEach(subscriber -> subscriber.offer(CATALOG));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (!subscriber.isClosed()) {
+                OutboundEvent event = subscriber.queue().poll(properties.heartbeat().toMillis(), TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    // Keeps idle connections open through proxies and notices clients that went away
+                    subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter().send(SseEmitter.event().name(event.name()).data(event.data()));
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Checklist stream subscriber for {} disconnected", subscriber.userId(), ex);
+            subscriber.emitter().completeWithError(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            subscriber.close();
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private record OutboundEvent(String name, Object data) {
+    }
+
+    private record Subscriber(String userId, SseEmitter emitter, BlockingQueue<OutboundEvent> queue, AtomicBoolean closed) {
+        Subscriber(String userId, SseEmitter emitter, BlockingQueue<OutboundEvent> queue) {
+            this(userId, emitter, queue, new AtomicBoolean());
+        }
+
+        void offer(OutboundEvent event) {
+            if (!queue.offer(event)) {
+                // Deltas are useless once one is lost, so the client is told to refetch instead
+                queue.clear();
+                queue.offer(RESYNC);
+            }
+        }
+
+        void close() {
+            closed.set(true);
+        }
+
+        boolean isClosed() {
+            return closed.get();
+        }
+    }
+}
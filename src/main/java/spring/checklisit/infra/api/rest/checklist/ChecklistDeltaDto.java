@@ -0,0 +1,28 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import spring.checklisit.domain.checklist.ChecklistChange.UserChecklistChange;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ChecklistDeltaDto(
+        LocalDate date,
+        long version,
+        List<ItemStateDto> items
+) {
+    public static ChecklistDeltaDto fromChange(UserChecklistChange change) {
+        return new ChecklistDeltaDto(
+                change.date(),
+                change.version(),
+                change.items().stream()
+                        .map(item -> new ItemStateDto(item.getItemId(), item.isComplete()))
+                        .toList()
+        );
+    }
+
+    public record ItemStateDto(
+            String itemId,
+            boolean complete
+    ) {
+    }
+}
@@ -12,7 +12,8 @@ public record ChecklistItemDto(
         @NotNull Category category,
         @NotNull Integer order,
         @NotNull Status status,
-        @NotNull Boolean complete
+        @NotNull Boolean complete,
+        Long version
 ) {
     public static ChecklistItemDto fromEntity(ChecklistItem entity) {
         return new ChecklistItemDto(
@@ -21,7 +22,8 @@ public record ChecklistItemDto(
                 entity.getCategory(),
                 entity.getOrder(),
                 entity.getStatus(),
-                entity.isComplete()
+                entity.isComplete(),
+                entity.getVersion()
         );
     }
 
@@ -33,6 +35,7 @@ public record ChecklistItemDto(
                 .order(order)
                 .status(status)
                 .complete(complete)
+                .version(version)
                 .build();
     }
 }
@@ -1,30 +1,116 @@
 package spring.checklisit.infra.api.rest.checklist;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import spring.checklisit.domain.checklist.Category;
 import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.ChecklistItemQuery;
 import spring.checklisit.domain.checklist.ChecklistUseCase;
+import spring.checklisit.domain.checklist.CompletionBatchResult;
+import spring.checklisit.domain.checklist.ItemPage;
+import spring.checklisit.domain.checklist.ItemSort;
+import spring.checklisit.domain.checklist.Status;
+import spring.checklisit.domain.checklist.UserChecklist;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/checklist")
 @RequiredArgsConstructor
 @Validated
 public class ChecklistResource {
 
+    public static final String USER_ID_HEADER = "X-User-Id";
+    private static final int HISTORY_DEFAULT_DAYS = 30;
+
     private final ChecklistUseCase checklistUseCase;
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final JsonMapper jsonMapper;
 
     @GetMapping("/items")
-    public ResponseEntity<List<ChecklistItemDto>> getAllItems() {
-        List<ChecklistItemDto> items = checklistUseCase.getAllItems().stream()
+    public ResponseEntity<List<ChecklistItemDto>> getAllItems(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Category category,
+            @RequestParam(defaultValue = "CATEGORY_ORDER") ItemSort sort) {
+        ChecklistItemQuery query = ChecklistItemQuery.builder()
+                .status(status)
+                .category(category)
+                .sort(sort)
+                .build();
+        List<ChecklistItemDto> items = checklistUseCase.getItems(query).stream()
                 .map(ChecklistItemDto::fromEntity)
                 .toList();
-        return ResponseEntity.ok(items);
+        return negotiated(items);
+    }
+
+    @GetMapping(value = "/items", produces = ColumnarItemsDto.MEDIA_TYPE)
+    public ResponseEntity<ColumnarItemsDto> getAllItemsColumnar(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Category category,
+            @RequestParam(defaultValue = "CATEGORY_ORDER") ItemSort sort) {
+        ChecklistItemQuery query = ChecklistItemQuery.builder()
+                .status(status)
+                .category(category)
+                .sort(sort)
+                .build();
+        return negotiated(ColumnarItemsDto.fromEntities(checklistUseCase.getItems(query)));
+    }
+
+    @GetMapping("/items/page")
+    public ResponseEntity<ItemPageDto> getItemPage(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        ChecklistItemQuery query = ChecklistItemQuery.builder()
+                .status(status)
+                .category(category)
+                .build();
+        ItemPage page = checklistUseCase.getItemPage(query, ItemPageDto.decodeCursor(cursor), limit);
+        return negotiated(ItemPageDto.fromEntity(page));
+    }
+
+    @GetMapping(value = "/items/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamItems(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Category category,
+            @RequestParam(defaultValue = "CATEGORY_ORDER") ItemSort sort) {
+        ChecklistItemQuery query = ChecklistItemQuery.builder()
+                .status(status)
+                .category(category)
+                .sort(sort)
+                .build();
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<ChecklistItem> items = checklistUseCase.streamItems(query)) {
+                Iterator<ChecklistItem> iterator = items.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(jsonMapper.writeValueAsBytes(ChecklistItemDto.fromEntity(iterator.next())));
+                    outputStream.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping("/items")
@@ -43,7 +129,7 @@ public class ChecklistResource {
         List<ChecklistItem> entities = items.stream()
                 .map(ChecklistItemDto::toEntity)
                 .toList();
-        List<ChecklistItemDto> updated = checklistUseCase.updateItems(entities).stream()
+        List<ChecklistItemDto> updated = checklistUseCase.updateItems(entities).items().stream()
                 .map(ChecklistItemDto::fromEntity)
                 .toList();
         return ResponseEntity.ok(updated);
@@ -56,26 +142,81 @@ public class ChecklistResource {
     }
 
     @GetMapping
-    public ResponseEntity<UserChecklistDto> getTodayChecklist() {
-        UserChecklistDto checklist = UserChecklistDto.fromEntity(checklistUseCase.getTodayChecklist());
-        return ResponseEntity.ok(checklist);
+    public ResponseEntity<UserChecklistDto> getTodayChecklist(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId,
+            NativeWebRequest request) {
+        // Conditional requests are answered from the ETag of the returned entity, so a 304 keeps the Vary header
+        return withETag(checklistUseCase.getTodayChecklist(userId), request);
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<List<UserChecklistDto>> getChecklistHistory(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.minusDays(HISTORY_DEFAULT_DAYS - 1) : from;
+        List<UserChecklistDto> history = checklistUseCase.getChecklistHistory(userId, start, end).stream()
+                .map(UserChecklistDto::fromEntity)
+                .toList();
+        return negotiated(history);
     }
 
     @PatchMapping("/{itemId}/complete")
-    public ResponseEntity<UserChecklistDto> markItemComplete(@PathVariable String itemId) {
-        UserChecklistDto checklist = UserChecklistDto.fromEntity(checklistUseCase.markItemComplete(itemId));
-        return ResponseEntity.ok(checklist);
+    public ResponseEntity<UserChecklistDto> markItemComplete(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId,
+            @PathVariable String itemId,
+            NativeWebRequest request) {
+        return withETag(checklistUseCase.markItemComplete(userId, itemId), request);
     }
 
     @PatchMapping("/{itemId}/uncomplete")
-    public ResponseEntity<UserChecklistDto> markItemUncomplete(@PathVariable String itemId) {
-        UserChecklistDto checklist = UserChecklistDto.fromEntity(checklistUseCase.markItemUncomplete(itemId));
-        return ResponseEntity.ok(checklist);
+    public ResponseEntity<UserChecklistDto> markItemUncomplete(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId,
+            @PathVariable String itemId,
+            NativeWebRequest request) {
+        return withETag(checklistUseCase.markItemUncomplete(userId, itemId), request);
+    }
+
+    @PatchMapping
+    public ResponseEntity<CompletionBatchResultDto> applyCompletionBatch(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId,
+            @RequestBody @Valid CompletionBatchDto batch,
+            NativeWebRequest request) {
+        CompletionBatchResult result = checklistUseCase.applyCompletionBatch(userId, batch.toDomain());
+        return ResponseEntity.ok()
+                .eTag(UserChecklistETags.of(result.checklist(), encodingOf(request)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(new CompletionBatchResultDto(UserChecklistDto.fromEntity(result.checklist()), result.notFoundIds()));
     }
 
     @PostMapping("/reset")
-    public ResponseEntity<UserChecklistDto> resetChecklist() {
-        UserChecklistDto checklist = UserChecklistDto.fromEntity(checklistUseCase.resetChecklist());
-        return ResponseEntity.ok(checklist);
+    public ResponseEntity<UserChecklistDto> resetChecklist(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId,
+            NativeWebRequest request) {
+        return withETag(checklistUseCase.resetChecklist(userId), request);
+    }
+
+    private ResponseEntity<UserChecklistDto> withETag(UserChecklist checklist, NativeWebRequest request) {
+        return ResponseEntity.ok()
+                .eTag(UserChecklistETags.of(checklist, encodingOf(request)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(UserChecklistDto.fromEntity(checklist));
+    }
+
+    // An unacceptable Accept header fails later, in converter selection, with the usual 406
+    private MediaType encodingOf(NativeWebRequest request) {
+        try {
+            return UserChecklistETags.encodingFor(contentNegotiationManager.resolveMediaTypes(request));
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return MediaType.APPLICATION_JSON;
+        }
+    }
+
+    // The same resource is served as JSON, CBOR, Smile or columnar JSON, so caches must key on Accept
+    private static <T> ResponseEntity<T> negotiated(T body) {
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
     }
 }
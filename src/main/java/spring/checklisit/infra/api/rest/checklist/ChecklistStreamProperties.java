@@ -0,0 +1,15 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "checklist.stream")
+public record ChecklistStreamProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("15s") Duration heartbeat
+) {
+}
@@ -0,0 +1,31 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import spring.checklisit.domain.checklist.UserChecklist;
+
+import static spring.checklisit.infra.api.rest.checklist.ChecklistResource.USER_ID_HEADER;
+
+@RestController
+@RequestMapping("/checklist")
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "checklist.stream", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ChecklistStreamResource {
+
+    private final ChecklistChangeBroadcaster broadcaster;
+
+    // Events: delta (changed items only), snapshot (after a reset), catalog (items changed), resync (refetch)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId) {
+        return broadcaster.subscribe(userId);
+    }
+}
@@ -0,0 +1,47 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.Status;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Column-major item list: every field name is sent once instead of once per item, and enum columns hold indexes
+// into the categories/statuses dictionaries rather than repeating the constant names
+public record ColumnarItemsDto(
+        int count,
+        List<String> categories,
+        List<String> statuses,
+        List<String> id,
+        List<String> label,
+        List<Integer> category,
+        List<Integer> order,
+        List<Integer> status,
+        List<Boolean> complete,
+        List<Long> version
+) {
+    public static final String MEDIA_TYPE = "application/vnd.checklisit.columnar+json";
+
+    private static final List<String> CATEGORIES = Arrays.stream(Category.values()).map(Enum::name).toList();
+    private static final List<String> STATUSES = Arrays.stream(Status.values()).map(Enum::name).toList();
+
+    public static ColumnarItemsDto fromEntities(List<ChecklistItem> items) {
+        return new ColumnarItemsDto(
+                items.size(),
+                CATEGORIES,
+                STATUSES,
+                items.stream().map(ChecklistItem::getId).toList(),
+                items.stream().map(ChecklistItem::getLabel).toList(),
+                items.stream().map(item -> ordinalOf(item.getCategory())).toList(),
+                items.stream().map(ChecklistItem::getOrder).toList(),
+                items.stream().map(item -> ordinalOf(item.getStatus())).toList(),
+                items.stream().map(ChecklistItem::isComplete).toList(),
+                items.stream().map(ChecklistItem::getVersion).toList()
+        );
+    }
+
+    private static Integer ordinalOf(Enum<?> value) {
+        return value == null ? null : value.ordinal();
+    }
+}
@@ -0,0 +1,41 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.CompletionBatch;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public record CompletionBatchDto(
+        List<@Valid ItemCompletionDto> items,
+        List<@Valid CategoryCompletionDto> categories
+) {
+    // Later entries for the same item or category win
+    public CompletionBatch toDomain() {
+        Map<String, Boolean> itemTargets = new LinkedHashMap<>();
+        if (items != null) {
+            items.forEach(item -> itemTargets.put(item.itemId(), item.complete()));
+        }
+        Map<Category, Boolean> categoryTargets = new LinkedHashMap<>();
+        if (categories != null) {
+            categories.forEach(category -> categoryTargets.put(category.category(), category.complete()));
+        }
+        return new CompletionBatch(itemTargets, categoryTargets);
+    }
+
+    public record ItemCompletionDto(
+            @NotBlank String itemId,
+            @NotNull Boolean complete
+    ) {
+    }
+
+    public record CategoryCompletionDto(
+            @NotNull Category category,
+            @NotNull Boolean complete
+    ) {
+    }
+}
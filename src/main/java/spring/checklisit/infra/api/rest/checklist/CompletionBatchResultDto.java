@@ -0,0 +1,9 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import java.util.List;
+
+public record CompletionBatchResultDto(
+        UserChecklistDto checklist,
+        List<String> notFoundIds
+) {
+}
@@ -0,0 +1,21 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import spring.checklisit.domain.checklist.DailyCompletionStats;
+
+import java.time.LocalDate;
+
+public record DailyCompletionStatsDto(
+        LocalDate date,
+        long assigned,
+        long completed,
+        double rate
+) {
+    public static DailyCompletionStatsDto fromEntity(DailyCompletionStats stats) {
+        return new DailyCompletionStatsDto(
+                stats.date(),
+                stats.assigned(),
+                stats.completed(),
+                stats.rate()
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.ItemCompletionStats;
+
+public record ItemCompletionStatsDto(
+        String itemId,
+        Category category,
+        long assigned,
+        long completed,
+        double rate
+) {
+    public static ItemCompletionStatsDto fromEntity(ItemCompletionStats stats) {
+        return new ItemCompletionStatsDto(
+                stats.itemId(),
+                stats.category(),
+                stats.assigned(),
+                stats.completed(),
+                stats.rate()
+        );
+    }
+}
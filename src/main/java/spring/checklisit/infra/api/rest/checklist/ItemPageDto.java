@@ -0,0 +1,24 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import spring.checklisit.domain.checklist.ItemCursor;
+import spring.checklisit.domain.checklist.ItemPage;
+
+import java.util.List;
+
+public record ItemPageDto(
+        List<ChecklistItemDto> items,
+        String next
+) {
+    public static ItemPageDto fromEntity(ItemPage page) {
+        return new ItemPageDto(
+                page.items().stream()
+                        .map(ChecklistItemDto::fromEntity)
+                        .toList(),
+                page.next() == null ? null : page.next().encode()
+        );
+    }
+
+    public static ItemCursor decodeCursor(String token) {
+        return token == null || token.isBlank() ? null : ItemCursor.decode(token);
+    }
+}
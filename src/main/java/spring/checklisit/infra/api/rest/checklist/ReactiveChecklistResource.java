@@ -0,0 +1,140 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.ChecklistItemQuery;
+import spring.checklisit.domain.checklist.ItemSort;
+import spring.checklisit.domain.checklist.ReactiveChecklistUseCase;
+import spring.checklisit.domain.checklist.Status;
+import spring.checklisit.domain.checklist.UserChecklist;
+
+import java.util.List;
+
+import static spring.checklisit.infra.api.rest.checklist.ChecklistResource.USER_ID_HEADER;
+
+@RestController
+@RequestMapping("/checklist")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveChecklistResource {
+
+    private final ReactiveChecklistUseCase checklistUseCase;
+
+    @GetMapping("/items")
+    public Flux<ChecklistItemDto> getAllItems(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Category category,
+            @RequestParam(defaultValue = "CATEGORY_ORDER") ItemSort sort) {
+        ChecklistItemQuery query = ChecklistItemQuery.builder()
+                .status(status)
+                .category(category)
+                .sort(sort)
+                .build();
+        return checklistUseCase.getItems(query).map(ChecklistItemDto::fromEntity);
+    }
+
+    @GetMapping("/items/page")
+    public Mono<ItemPageDto> getItemPage(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        ChecklistItemQuery query = ChecklistItemQuery.builder()
+                .status(status)
+                .category(category)
+                .build();
+        return checklistUseCase.getItemPage(query, ItemPageDto.decodeCursor(cursor), limit)
+                .map(ItemPageDto::fromEntity);
+    }
+
+    @GetMapping(value = "/items/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ChecklistItemDto> streamItems(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) Category category,
+            @RequestParam(defaultValue = "CATEGORY_ORDER") ItemSort sort) {
+        return getAllItems(status, category, sort);
+    }
+
+    @PostMapping("/items")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Flux<ChecklistItemDto> createItems(@RequestBody @Valid List<@Valid ChecklistItemDto> items) {
+        List<ChecklistItem> entities = items.stream()
+                .map(ChecklistItemDto::toEntity)
+                .toList();
+        return checklistUseCase.createItems(entities).map(ChecklistItemDto::fromEntity);
+    }
+
+    @PutMapping("/items")
+    public Flux<ChecklistItemDto> updateItems(@RequestBody @Valid List<@Valid ChecklistItemDto> items) {
+        List<ChecklistItem> entities = items.stream()
+                .map(ChecklistItemDto::toEntity)
+                .toList();
+        return checklistUseCase.updateItems(entities)
+                .flatMapIterable(result -> result.items())
+                .map(ChecklistItemDto::fromEntity);
+    }
+
+    @DeleteMapping("/items/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteItem(@PathVariable String id) {
+        return checklistUseCase.deleteItem(id);
+    }
+
+    // The result handler answers 304 itself when If-None-Match matches the ETag of a GET response
+    @GetMapping
+    public Mono<ResponseEntity<UserChecklistDto>> getTodayChecklist(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId) {
+        return checklistUseCase.getTodayChecklist(userId).map(this::withETag);
+    }
+
+    @PatchMapping("/{itemId}/complete")
+    public Mono<ResponseEntity<UserChecklistDto>> markItemComplete(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId,
+            @PathVariable String itemId) {
+        return checklistUseCase.markItemComplete(userId, itemId).map(this::withETag);
+    }
+
+    @PatchMapping("/{itemId}/uncomplete")
+    public Mono<ResponseEntity<UserChecklistDto>> markItemUncomplete(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId,
+            @PathVariable String itemId) {
+        return checklistUseCase.markItemUncomplete(userId, itemId).map(this::withETag);
+    }
+
+    @PatchMapping
+    public Mono<ResponseEntity<CompletionBatchResultDto>> applyCompletionBatch(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId,
+            @RequestBody @Valid CompletionBatchDto batch) {
+        return checklistUseCase.applyCompletionBatch(userId, batch.toDomain())
+                .map(result -> ResponseEntity.ok()
+                        .eTag(UserChecklistETags.of(result.checklist(), MediaType.APPLICATION_JSON))
+                        .body(new CompletionBatchResultDto(
+                                UserChecklistDto.fromEntity(result.checklist()), result.notFoundIds())));
+    }
+
+    @PostMapping("/reset")
+    public Mono<ResponseEntity<UserChecklistDto>> resetChecklist(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = UserChecklist.DEFAULT_USER_ID) String userId) {
+        return checklistUseCase.resetChecklist(userId).map(this::withETag);
+    }
+
+    // The reactive stack only encodes JSON
+    private ResponseEntity<UserChecklistDto> withETag(UserChecklist checklist) {
+        return ResponseEntity.ok()
+                .eTag(UserChecklistETags.of(checklist, MediaType.APPLICATION_JSON))
+                .body(UserChecklistDto.fromEntity(checklist));
+    }
+}
@@ -0,0 +1,10 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import java.time.LocalDate;
+
+public record RollupRebuildDto(
+        LocalDate from,
+        LocalDate to,
+        long rollups
+) {
+}
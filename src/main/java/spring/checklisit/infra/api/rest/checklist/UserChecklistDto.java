@@ -9,12 +9,14 @@ import java.util.List;
 
 public record UserChecklistDto(
         String id,
+        String userId,
         LocalDate date,
         List<UserChecklistItemDto> items
 ) {
     public static UserChecklistDto fromEntity(UserChecklist entity) {
         return new UserChecklistDto(
                 entity.getId(),
+                entity.getUserId(),
                 entity.getDate(),
                 entity.getItems().stream()
                         .map(UserChecklistItemDto::fromEntity)
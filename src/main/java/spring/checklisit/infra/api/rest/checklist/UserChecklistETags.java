@@ -0,0 +1,46 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import org.springframework.http.MediaType;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+// Strong tags, one per representation: the stored version, the completion state and the encoding. Every write bumps
+// the version except toggles still held by the write-behind buffer, which only change completion, so that state is
+// folded in as a digest of one bit per item instead of hashing the items themselves.
+final class UserChecklistETags {
+
+    static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    static final List<MediaType> ENCODINGS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
+
+    private UserChecklistETags() {
+    }
+
+    static String of(UserChecklist checklist, MediaType encoding) {
+        List<UserChecklistItem> items = checklist.getItems();
+        BitSet completed = new BitSet(items.size());
+        for (int position = 0; position < items.size(); position++) {
+            if (items.get(position).isComplete()) {
+                completed.set(position);
+            }
+        }
+        return "\"" + checklist.getId() + "-" + checklist.getVersion()
+                + "-" + Integer.toHexString(Arrays.hashCode(completed.toLongArray()))
+                + "-" + encoding.getSubtype() + "\"";
+    }
+
+    // Mirrors converter selection closely enough to name the encoding: the first accepted type any of ours matches
+    static MediaType encodingFor(List<MediaType> accepted) {
+        for (MediaType acceptable : accepted) {
+            for (MediaType encoding : ENCODINGS) {
+                if (acceptable.isCompatibleWith(encoding)) {
+                    return encoding;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -1,6 +1,9 @@
 package spring.checklisit.infra.api.rest.config;
 
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ProblemDetail;
@@ -10,75 +13,58 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import spring.checklisit.domain.checklist.BatchWriteException;
 import spring.checklisit.domain.checklist.ResourceNotFoundException;
-
-import java.net.URI;
-import java.util.HashMap;
-import java.util.Map;
+import spring.checklisit.infra.api.rest.idempotency.IdempotencyKeyInUseException;
+import spring.checklisit.infra.api.rest.idempotency.IdempotencyKeyReusedException;
 
 @RestControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ProblemDetail handleResourceNotFound(ResourceNotFoundException ex) {
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.NOT_FOUND,
-                ex.getMessage()
-        );
-        problemDetail.setTitle("Resource Not Found");
-        problemDetail.setType(URI.create("https://api.checklisit.com/errors/resource-not-found"));
-        return problemDetail;
+        return ProblemDetails.resourceNotFound(ex.getMessage());
+    }
+
+    @ExceptionHandler(BatchWriteException.class)
+    public ProblemDetail handleBatchWrite(BatchWriteException ex) {
+        return ProblemDetails.batchWriteFailed(ex);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ProblemDetails.concurrentModification(ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyInUseException.class)
+    public ResponseEntity<ProblemDetail> handleIdempotencyKeyInUse(IdempotencyKeyInUseException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ProblemDetails.idempotencyKeyInUse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ProblemDetail handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return ProblemDetails.idempotencyKeyReused(ex.getMessage());
     }
 
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex,
-            org.springframework.http.HttpHeaders headers,
+            HttpHeaders headers,
             HttpStatusCode status,
             WebRequest request) {
-
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.BAD_REQUEST,
-                "Validation failed for one or more fields"
-        );
-        problemDetail.setTitle("Validation Error");
-        problemDetail.setType(URI.create("https://api.checklisit.com/errors/validation-error"));
-
-        Map<String, String> fieldErrors = new HashMap<>();
-        ex.getBindingResult().getFieldErrors().forEach(fieldError ->
-                fieldErrors.put(fieldError.getField(), fieldError.getDefaultMessage())
-        );
-        problemDetail.setProperty("fieldErrors", fieldErrors);
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problemDetail);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ProblemDetails.validationError(ex.getBindingResult()));
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ProblemDetail handleConstraintViolation(ConstraintViolationException ex) {
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.BAD_REQUEST,
-                "Validation failed for one or more constraints"
-        );
-        problemDetail.setTitle("Constraint Violation");
-        problemDetail.setType(URI.create("https://api.checklisit.com/errors/constraint-violation"));
-
-        Map<String, String> violations = new HashMap<>();
-        ex.getConstraintViolations().forEach(violation ->
-                violations.put(violation.getPropertyPath().toString(), violation.getMessage())
-        );
-        problemDetail.setProperty("fieldErrors", violations);
-
-        return problemDetail;
+        return ProblemDetails.constraintViolation(ex);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ProblemDetail handleIllegalArgument(IllegalArgumentException ex) {
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.BAD_REQUEST,
-                ex.getMessage()
-        );
-        problemDetail.setTitle("Invalid Argument");
-        problemDetail.setType(URI.create("https://api.checklisit.com/errors/invalid-argument"));
-        return problemDetail;
+        return ProblemDetails.invalidArgument(ex.getMessage());
     }
 }
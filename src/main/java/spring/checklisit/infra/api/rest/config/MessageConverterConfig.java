@@ -0,0 +1,32 @@
+package spring.checklisit.infra.api.rest.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+// Binary encodings next to JSON, picked by the Accept header. Both drop JSON's text overhead for numbers and
+// booleans; Smile additionally back-references repeated names and short values such as enum constants.
+// The mappers start from Boot's builders, so spring.jackson.* settings and registered customizers apply to every
+// encoding alike; the plain builders are only a fallback when Boot does not provide one.
+@Configuration
+@Profile("!reactive")
+public class MessageConverterConfig {
+
+    @Bean
+    public JacksonCborHttpMessageConverter cborHttpMessageConverter(ObjectProvider<CBORMapper.Builder> builder) {
+        return new JacksonCborHttpMessageConverter(builder.getIfAvailable(CBORMapper::builder).build());
+    }
+
+    @Bean
+    public JacksonSmileHttpMessageConverter smileHttpMessageConverter(ObjectProvider<SmileMapper.Builder> builder) {
+        return new JacksonSmileHttpMessageConverter(builder.getIfAvailable(SmileMapper::builder)
+                .enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES)
+                .build());
+    }
+}
@@ -0,0 +1,121 @@
+package spring.checklisit.infra.api.rest.config;
+
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.validation.BindingResult;
+import spring.checklisit.domain.checklist.BatchWriteException;
+import spring.checklisit.domain.checklist.ChecklistItem;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+// Problem bodies shared by the servlet and reactive exception handlers
+final class ProblemDetails {
+
+    private ProblemDetails() {
+    }
+
+    static ProblemDetail resourceNotFound(String detail) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.NOT_FOUND,
+                detail
+        );
+        problemDetail.setTitle("Resource Not Found");
+        problemDetail.setType(URI.create("https://api.checklisit.com/errors/resource-not-found"));
+        return problemDetail;
+    }
+
+    static ProblemDetail batchWriteFailed(BatchWriteException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.CONFLICT,
+                ex.getMessage()
+        );
+        problemDetail.setTitle("Batch Write Failed");
+        problemDetail.setType(URI.create("https://api.checklisit.com/errors/batch-write-failed"));
+
+        Map<String, String> failures = new HashMap<>();
+        ex.getFailures().forEach(failure -> failures.put(failure.itemId(), failure.reason()));
+        problemDetail.setProperty("failures", failures);
+        problemDetail.setProperty("writtenIds", ex.getWrittenItems().stream()
+                .map(ChecklistItem::getId)
+                .toList());
+
+        return problemDetail;
+    }
+
+    static ProblemDetail concurrentModification(String detail) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.CONFLICT,
+                detail
+        );
+        problemDetail.setTitle("Concurrent Modification");
+        problemDetail.setType(URI.create("https://api.checklisit.com/errors/concurrent-modification"));
+        return problemDetail;
+    }
+
+    static ProblemDetail idempotencyKeyInUse(String detail) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.CONFLICT,
+                detail
+        );
+        problemDetail.setTitle("Request In Progress");
+        problemDetail.setType(URI.create("https://api.checklisit.com/errors/idempotency-key-in-use"));
+        return problemDetail;
+    }
+
+    static ProblemDetail idempotencyKeyReused(String detail) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.UNPROCESSABLE_CONTENT,
+                detail
+        );
+        problemDetail.setTitle("Idempotency Key Reused");
+        problemDetail.setType(URI.create("https://api.checklisit.com/errors/idempotency-key-reused"));
+        return problemDetail;
+    }
+
+    static ProblemDetail validationError(BindingResult bindingResult) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST,
+                "Validation failed for one or more fields"
+        );
+        problemDetail.setTitle("Validation Error");
+        problemDetail.setType(URI.create("https://api.checklisit.com/errors/validation-error"));
+
+        Map<String, String> fieldErrors = new HashMap<>();
+        bindingResult.getFieldErrors().forEach(fieldError ->
+                fieldErrors.put(fieldError.getField(), fieldError.getDefaultMessage())
+        );
+        problemDetail.setProperty("fieldErrors", fieldErrors);
+
+        return problemDetail;
+    }
+
+    static ProblemDetail constraintViolation(ConstraintViolationException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST,
+                "Validation failed for one or more constraints"
+        );
+        problemDetail.setTitle("Constraint Violation");
+        problemDetail.setType(URI.create("https://api.checklisit.com/errors/constraint-violation"));
+
+        Map<String, String> violations = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+                violations.put(violation.getPropertyPath().toString(), violation.getMessage())
+        );
+        problemDetail.setProperty("fieldErrors", violations);
+
+        return problemDetail;
+    }
+
+    static ProblemDetail invalidArgument(String detail) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST,
+                detail
+        );
+        problemDetail.setTitle("Invalid Argument");
+        problemDetail.setType(URI.create("https://api.checklisit.com/errors/invalid-argument"));
+        return problemDetail;
+    }
+}
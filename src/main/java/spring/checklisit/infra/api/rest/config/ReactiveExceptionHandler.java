@@ -0,0 +1,57 @@
+package spring.checklisit.infra.api.rest.config;
+
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import spring.checklisit.domain.checklist.BatchWriteException;
+import spring.checklisit.domain.checklist.ResourceNotFoundException;
+
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ProblemDetail handleResourceNotFound(ResourceNotFoundException ex) {
+        return ProblemDetails.resourceNotFound(ex.getMessage());
+    }
+
+    @ExceptionHandler(BatchWriteException.class)
+    public ProblemDetail handleBatchWrite(BatchWriteException ex) {
+        return ProblemDetails.batchWriteFailed(ex);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ProblemDetails.concurrentModification(ex.getMessage());
+    }
+
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(
+            WebExchangeBindException ex,
+            HttpHeaders headers,
+            HttpStatusCode status,
+            ServerWebExchange exchange) {
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ProblemDetails.validationError(ex)));
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ProblemDetail handleConstraintViolation(ConstraintViolationException ex) {
+        return ProblemDetails.constraintViolation(ex);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException ex) {
+        return ProblemDetails.invalidArgument(ex.getMessage());
+    }
+}
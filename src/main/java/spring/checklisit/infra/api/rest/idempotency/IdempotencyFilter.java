@@ -0,0 +1,311 @@
+package spring.checklisit.infra.api.rest.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.infra.api.rest.checklist.ChecklistResource;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Replays the stored response when a mutating checklist request is retried with the same Idempotency-Key.
+// Completed responses are looked up in a local LRU before the store, and a retry that arrives while the first
+// attempt is still running on this instance waits for its result instead of running the write again. While a request
+// runs, its claim is renewed well within the lock timeout, so other instances only take over claims whose owner died.
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "checklist.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final Map<String, CachedResponse> completed;
+    private final Map<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("idempotency-lease").factory());
+
+    public IdempotencyFilter(IdempotencyStore store,
+                             IdempotencyProperties properties,
+                             @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        this.store = store;
+        this.properties = properties;
+        this.exceptionResolver = exceptionResolver;
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > properties.cacheSize();
+            }
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !MUTATING_METHODS.contains(request.getMethod())
+                || !request.getRequestURI().startsWith("/checklist");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        try {
+            if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException(
+                        IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            }
+            CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+            // Keys are chosen by clients, so they are only unique per user
+            String userId = Objects.requireNonNullElse(
+                    request.getHeader(ChecklistResource.USER_ID_HEADER), UserChecklist.DEFAULT_USER_ID);
+            handle(userId + ":" + key, fingerprintOf(cachedRequest), cachedRequest, response, chain);
+        } catch (IllegalArgumentException | IdempotencyKeyInUseException | IdempotencyKeyReusedException ex) {
+            exceptionResolver.resolveException(request, response, null, ex);
+        }
+    }
+
+    private void handle(String key, String fingerprint, HttpServletRequest request, HttpServletResponse response,
+                        FilterChain chain) throws ServletException, IOException {
+        while (true) {
+            IdempotentResponse done = cached(key);
+            if (done != null) {
+                replay(key, fingerprint, done, response);
+                return;
+            }
+
+            CompletableFuture<IdempotentResponse> own = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(key, own);
+            if (running != null) {
+                IdempotentResponse result = await(key, running);
+                if (result != null) {
+                    replay(key, fingerprint, result, response);
+                    return;
+                }
+                // The first attempt failed without storing a response, so this retry may run it
+                continue;
+            }
+
+            IdempotentResponse result = null;
+            try {
+                result = claimAndExecute(key, fingerprint, request, response, chain);
+                return;
+            } finally {
+                inFlight.remove(key, own);
+                own.complete(result);
+            }
+        }
+    }
+
+    private IdempotentResponse claimAndExecute(String key, String fingerprint, HttpServletRequest request,
+                                               HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<IdempotentResponse> stored = store.claim(key, fingerprint);
+        if (stored.isPresent()) {
+            remember(key, stored.get());
+            replay(key, fingerprint, stored.get(), response);
+            return stored.get();
+        }
+
+        ContentCachingResponseWrapper recorded = new ContentCachingResponseWrapper(response);
+        ScheduledFuture<?> lease = renewWhileRunning(key, fingerprint);
+        IdempotentResponse result = null;
+        try {
+            chain.doFilter(request, recorded);
+            if (isReplayable(recorded.getStatus())) {
+                IdempotentResponse completed = new IdempotentResponse(fingerprint, recorded.getStatus(),
+                        recorded.getContentType(), recorded.getHeader(HttpHeaders.ETAG), varyOf(recorded),
+                        recorded.getContentAsByteArray());
+                store.complete(key, completed);
+                remember(key, completed);
+                result = completed;
+            }
+            return result;
+        } finally {
+            lease.cancel(false);
+            if (result == null) {
+                store.release(key);
+            }
+            recorded.copyBodyToResponse();
+        }
+    }
+
+    private ScheduledFuture<?> renewWhileRunning(String key, String fingerprint) {
+        long period = Math.max(1, properties.lockTimeout().toMillis() / 3);
+        return leaseRenewer.scheduleAtFixedRate(() -> {
+            try {
+                store.renew(key, fingerprint);
+            } catch (RuntimeException ex) {
+                // A missed renewal is retried on the next tick; only several in a row let the claim lapse
+                logger.warn("Could not renew idempotency claim " + key, ex);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        leaseRenewer.shutdownNow();
+    }
+
+    // Server errors and conflicts may succeed when retried, so they release the key instead of being replayed
+    private static boolean isReplayable(int status) {
+        return status < HttpStatus.INTERNAL_SERVER_ERROR.value() && status != HttpStatus.CONFLICT.value();
+    }
+
+    private IdempotentResponse await(String key, CompletableFuture<IdempotentResponse> running) {
+        try {
+            return running.get(properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            throw new IdempotencyKeyInUseException(key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInUseException(key);
+        }
+    }
+
+    private void replay(String key, String fingerprint, IdempotentResponse stored, HttpServletResponse response)
+            throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(key.substring(key.indexOf(':') + 1));
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.eTag() != null) {
+            response.setHeader(HttpHeaders.ETAG, stored.eTag());
+        }
+        // The replayed body was negotiated from the first request's Accept, so caches must still key on it
+        if (stored.vary() != null) {
+            response.setHeader(HttpHeaders.VARY, stored.vary());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String varyOf(HttpServletResponse response) {
+        Collection<String> vary = response.getHeaders(HttpHeaders.VARY);
+        return vary.isEmpty() ? null : String.join(", ", vary);
+    }
+
+    private IdempotentResponse cached(String key) {
+        CachedResponse cached = completed.get(key);
+        if (cached == null) {
+            return null;
+        }
+        // The store forgets keys after the TTL, so the local copy must not outlive it
+        if (cached.expiresAt().isBefore(Instant.now())) {
+            completed.remove(key);
+            return null;
+        }
+        return cached.response();
+    }
+
+    private void remember(String key, IdempotentResponse response) {
+        completed.put(key, new CachedResponse(response, Instant.now().plus(properties.ttl())));
+    }
+
+    private static String fingerprintOf(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update("%s %s?%s\n".formatted(request.getMethod(), request.getRequestURI(), request.getQueryString())
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record CachedResponse(IdempotentResponse response, Instant expiresAt) {
+    }
+
+    // The body has to be fingerprinted before the controller reads it, so it is buffered once and served from memory
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package spring.checklisit.infra.api.rest.idempotency;
+
+public class IdempotencyKeyInUseException extends RuntimeException {
+    public IdempotencyKeyInUseException(String key) {
+        super("A request with Idempotency-Key " + key + " is still in progress");
+    }
+}
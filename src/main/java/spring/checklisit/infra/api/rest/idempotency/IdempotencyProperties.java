@@ -0,0 +1,16 @@
+package spring.checklisit.infra.api.rest.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "checklist.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("30s") Duration lockTimeout,
+        @DefaultValue("10s") Duration waitTimeout,
+        @DefaultValue("10000") int cacheSize
+) {
+}
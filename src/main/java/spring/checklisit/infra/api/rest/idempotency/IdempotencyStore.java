@@ -0,0 +1,12 @@
+package spring.checklisit.infra.api.rest.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+    // Empty when the caller now owns the key, the stored response when the key already completed
+    Optional<IdempotentResponse> claim(String key, String fingerprint);
+    // Extends the claim of a request that is still running, so it is not taken over as abandoned
+    void renew(String key, String fingerprint);
+    void complete(String key, IdempotentResponse response);
+    void release(String key);
+}
@@ -0,0 +1,12 @@
+package spring.checklisit.infra.api.rest.idempotency;
+
+// The part of a response that is replayed for a retried request, plus the fingerprint of the request that produced it
+public record IdempotentResponse(
+        String fingerprint,
+        int status,
+        String contentType,
+        String eTag,
+        String vary,
+        byte[] body
+) {
+}
@@ -0,0 +1,101 @@
+package spring.checklisit.infra.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import spring.checklisit.domain.checklist.ResourceNotFoundException;
+import spring.checklisit.domain.checklist.UserChecklist;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ChecklistMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * spring.checklisit.domain.checklist.ChecklistUseCase.*(..))")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        recordBatchSize("usecase", joinPoint);
+        return time(Timer.builder("checklist.usecase"), joinPoint);
+    }
+
+    // Port calls answered from the local caches never reach the Mongo adapter, so the caching adapter is timed on
+    // its own; the adapter tag keeps its timings apart from the Mongo calls it delegates to
+    @Around("execution(* spring.checklisit.domain.checklist.ChecklistPort.*(..)) "
+            + "&& within(spring.checklisit.infra.spi.db.checklist.CachingChecklistAdapter)")
+    public Object timeCachingPort(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(Timer.builder("checklist.port").tag("adapter", "caching"), joinPoint);
+    }
+
+    @Around("execution(public * spring.checklisit.infra.spi.db.checklist.MongoChecklistAdapter.*(..))")
+    public Object timePort(ProceedingJoinPoint joinPoint) throws Throwable {
+        recordBatchSize("port", joinPoint);
+        Object result = time(Timer.builder("checklist.port").tag("adapter", "mongo"), joinPoint);
+        recordItemCount(joinPoint.getSignature().getName(), result);
+        return result;
+    }
+
+    private Object time(Timer.Builder timer, ProceedingJoinPoint joinPoint) throws Throwable {
+        timer.tag("operation", joinPoint.getSignature().getName());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (ResourceNotFoundException ex) {
+            stop(sample, timer, "not_found");
+            throw ex;
+        } catch (Throwable ex) {
+            stop(sample, timer, "error");
+            throw ex;
+        }
+        if (result instanceof Stream<?> stream) {
+            // A stream does its reads while it is consumed, so it is timed until the consumer closes it
+            return stream.onClose(() -> stop(sample, timer, "success"));
+        }
+        stop(sample, timer, "success");
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, Timer.Builder timer, String outcome) {
+        sample.stop(timer.tag("outcome", outcome).register(meterRegistry));
+    }
+
+    private void recordBatchSize(String layer, ProceedingJoinPoint joinPoint) {
+        String operation = joinPoint.getSignature().getName();
+        int batchSize = 0;
+        for (Object arg : joinPoint.getArgs()) {
+            if (arg instanceof Collection<?> collection) {
+                batchSize += collection.size();
+            }
+        }
+        if (batchSize > 0) {
+            DistributionSummary.builder("checklist.batch.size")
+                    .tag("layer", layer)
+                    .tag("operation", operation)
+                    .baseUnit("items")
+                    .register(meterRegistry)
+                    .record(batchSize);
+        }
+    }
+
+    // Items per checklist read or written, which is what drives document size; it is not a byte count
+    private void recordItemCount(String operation, Object result) {
+        Object document = result instanceof Optional<?> optional ? optional.orElse(null) : result;
+        if (document instanceof UserChecklist checklist && checklist.getItems() != null) {
+            DistributionSummary.builder("checklist.user_checklist.items")
+                    .tag("operation", operation)
+                    .baseUnit("items")
+                    .register(meterRegistry)
+                    .record(checklist.getItems().size());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package spring.checklisit.infra.scheduling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "checklist.archive")
+public record ArchiveProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0 30 3 * * *") String cron,
+        @DefaultValue("90d") Duration retention,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("200ms") Duration pause
+) {
+}
@@ -0,0 +1,55 @@
+package spring.checklisit.infra.scheduling;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import spring.checklisit.domain.checklist.ChecklistArchiveUseCase;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "checklist.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ChecklistArchiveJob {
+
+    private final ChecklistArchiveUseCase archiveUseCase;
+    private final ArchiveProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong archivedChecklists = new AtomicLong();
+    private final Timer duration;
+
+    public ChecklistArchiveJob(ChecklistArchiveUseCase archiveUseCase,
+                               ArchiveProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.archiveUseCase = archiveUseCase;
+        this.properties = properties;
+        Gauge.builder("checklist.archive.archived.checklists", archivedChecklists, AtomicLong::get)
+                .register(meterRegistry);
+        this.duration = Timer.builder("checklist.archive.duration")
+                .register(meterRegistry);
+    }
+
+    // Runs off-peak, after the midnight rollover has finished
+    @Scheduled(cron = "${checklist.archive.cron:0 30 3 * * *}")
+    public void archiveExpired() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Checklist archival skipped, an archival is already running");
+            return;
+        }
+        try {
+            LocalDate cutoff = LocalDate.now().minusDays(properties.retention().toDays());
+            archivedChecklists.set(0);
+            long archived = duration.record(() -> archiveUseCase.archiveBefore(
+                    cutoff, properties.batchSize(), properties.pause(), archivedChecklists::set));
+            log.info("Checklist archival moved {} checklists dated before {}", archived, cutoff);
+        } finally {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package spring.checklisit.infra.scheduling;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import spring.checklisit.domain.checklist.ChecklistRolloverUseCase;
+import spring.checklisit.domain.checklist.RolloverCheckpoint;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "checklist.rollover", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ChecklistRolloverJob {
+
+    private static final String LEASE = "checklist-rollover";
+
+    private final ChecklistRolloverUseCase rolloverUseCase;
+    private final RolloverProperties properties;
+    private final JobLeaseStore leaseStore;
+    private final String owner = UUID.randomUUID().toString();
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("checklist-rollover-lease").factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong processedUsers = new AtomicLong();
+    private final AtomicLong createdChecklists = new AtomicLong();
+    private final Timer duration;
+
+    public ChecklistRolloverJob(ChecklistRolloverUseCase rolloverUseCase,
+                                RolloverProperties properties,
+                                JobLeaseStore leaseStore,
+                                MeterRegistry meterRegistry) {
+        this.rolloverUseCase = rolloverUseCase;
+        this.properties = properties;
+        this.leaseStore = leaseStore;
+        Gauge.builder("checklist.rollover.processed.users", processedUsers, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("checklist.rollover.created.checklists", createdChecklists, AtomicLong::get)
+                .register(meterRegistry);
+        this.duration = Timer.builder("checklist.rollover.duration")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${checklist.rollover.cron:0 0 0 * * *}")
+    public void rolloverToday() {
+        rollover(LocalDate.now());
+    }
+
+    // Indexes are created before the context is ready, so the resume can rely on them; it runs on its own thread
+    // so a long resume neither delays readiness nor blocks other ready listeners
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRollover() {
+        Thread.ofVirtual().name("checklist-rollover-resume").start(() -> {
+            try {
+                LocalDate today = LocalDate.now();
+                if (rolloverUseCase.hasInterruptedRollover(today)) {
+                    log.info("Resuming interrupted checklist rollover for {}", today);
+                    rollover(today);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Resuming the interrupted checklist rollover failed", ex);
+            }
+        });
+    }
+
+    private void rollover(LocalDate date) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Checklist rollover for {} skipped, a rollover is already running", date);
+            return;
+        }
+        try {
+            // Every instance fires the cron; the lease makes one of them run it, the others only skip
+            if (!leaseStore.tryAcquire(LEASE, owner, properties.leaseTtl())) {
+                log.info("Checklist rollover for {} skipped, another instance holds the rollover lease", date);
+                return;
+            }
+            ScheduledFuture<?> renewal = renewWhileRunning();
+            try {
+                processedUsers.set(0);
+                RolloverCheckpoint result = duration.record(() -> rolloverUseCase.rollover(
+                        date, properties.batchSize(), properties.concurrency(), processedUsers::set));
+                createdChecklists.set(result.createdChecklists());
+                log.info("Checklist rollover for {} created {} checklists for {} users",
+                        date, result.createdChecklists(), result.processedUsers());
+            } finally {
+                renewal.cancel(false);
+                leaseStore.release(LEASE, owner);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ScheduledFuture<?> renewWhileRunning() {
+        long period = Math.max(1, properties.leaseTtl().toMillis() / 3);
+        return leaseRenewer.scheduleAtFixedRate(() -> {
+            try {
+                if (!leaseStore.renew(LEASE, owner, properties.leaseTtl())) {
+                    log.warn("Checklist rollover lease was lost to another instance");
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Could not renew the checklist rollover lease", ex);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseRenewer.shutdownNow();
+    }
+}
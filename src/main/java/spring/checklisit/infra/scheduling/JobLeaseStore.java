@@ -0,0 +1,11 @@
+package spring.checklisit.infra.scheduling;
+
+import java.time.Duration;
+
+public interface JobLeaseStore {
+    // True when the owner now holds the named lease, either newly or because it already did
+    boolean tryAcquire(String name, String owner, Duration ttl);
+    // False once the lease has expired and been taken by another owner
+    boolean renew(String name, String owner, Duration ttl);
+    void release(String name, String owner);
+}
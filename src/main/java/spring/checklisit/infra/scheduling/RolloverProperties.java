@@ -0,0 +1,16 @@
+package spring.checklisit.infra.scheduling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "checklist.rollover")
+public record RolloverProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0 0 0 * * *") String cron,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("8") int concurrency,
+        @DefaultValue("5m") Duration leaseTtl
+) {
+}
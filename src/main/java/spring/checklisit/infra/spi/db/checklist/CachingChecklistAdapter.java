@@ -0,0 +1,348 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Repository;
+import spring.checklisit.domain.checklist.CatalogChangedEvent;
+import spring.checklisit.domain.checklist.ChecklistChange;
+import spring.checklisit.domain.checklist.ChecklistChange.CatalogChange;
+import spring.checklisit.domain.checklist.ChecklistChange.UserChecklistChange;
+import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.ChecklistItemQuery;
+import spring.checklisit.domain.checklist.ChecklistPort;
+import spring.checklisit.domain.checklist.CompletionBatch;
+import spring.checklisit.domain.checklist.ItemCursor;
+import spring.checklisit.domain.checklist.ItemPage;
+import spring.checklisit.domain.checklist.ItemSort;
+import spring.checklisit.domain.checklist.RolloverCheckpoint;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+import spring.checklisit.domain.checklist.UserChecklistKey;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Primary
+@Repository
+public class CachingChecklistAdapter implements ChecklistPort {
+
+    private static final String ITEMS_COLLECTION = "checklist_items";
+    private static final String USER_CHECKLISTS_COLLECTION = "user_checklists";
+    private static final String COMPACT_USER_CHECKLISTS_COLLECTION = "compact_user_checklists";
+
+    private final ChecklistPort delegate;
+    private final AtomicReference<CatalogSnapshot> catalog = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<UserChecklistKey, CachedChecklist> userChecklists;
+    private final long userChecklistTtlNanos;
+    private final long catalogTtlNanos;
+    private final Counter hits;
+    private final Counter misses;
+    private final ApplicationEventPublisher events;
+
+    public CachingChecklistAdapter(MongoChecklistAdapter delegate,
+                                   MongoChecklistProperties properties,
+                                   MeterRegistry meterRegistry,
+                                   ApplicationEventPublisher events) {
+        this.delegate = delegate;
+        this.events = events;
+        this.userChecklists = lruMap(properties.userChecklistCacheSize());
+        this.userChecklistTtlNanos = properties.userChecklistCacheTtl().toNanos();
+        this.catalogTtlNanos = properties.catalogCacheTtl().toNanos();
+        this.hits = Counter.builder("checklist.catalog.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("checklist.catalog.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    // Cached items are shared, so callers get copies they are free to modify
+    @Override
+    public List<ChecklistItem> findAllItems() {
+        return catalog().items().stream().map(CachingChecklistAdapter::copyOf).toList();
+    }
+
+    @Override
+    public List<ChecklistItem> findItems(ChecklistItemQuery query) {
+        return sorted(catalog().items().stream().filter(query::matches), query)
+                .map(CachingChecklistAdapter::copyOf)
+                .toList();
+    }
+
+    @Override
+    public ItemPage findItemPage(ChecklistItemQuery query, ItemCursor after, int limit) {
+        List<ChecklistItem> items = catalog().items().stream()
+                .filter(query::matches)
+                .filter(item -> after == null || after.precedes(item))
+                .sorted(ItemSort.CATEGORY_ORDER.getComparator())
+                .limit(limit + 1L)
+                .map(CachingChecklistAdapter::copyOf)
+                .toList();
+        if (items.size() <= limit) {
+            return new ItemPage(items, null);
+        }
+        List<ChecklistItem> page = items.subList(0, limit);
+        return new ItemPage(page, ItemCursor.of(page.get(limit - 1)));
+    }
+
+    @Override
+    public Stream<ChecklistItem> streamItems(ChecklistItemQuery query) {
+        CatalogSnapshot cached = catalog.get();
+        if (cached == null || cached.isExpired(System.nanoTime())) {
+            // Streaming is meant for catalogs too large to hold at once, so a miss does not populate the cache
+            return delegate.streamItems(query);
+        }
+        hits.increment();
+        return sorted(cached.items().stream().filter(query::matches), query).map(CachingChecklistAdapter::copyOf);
+    }
+
+    @Override
+    public Optional<ChecklistItem> findItemById(String id) {
+        return Optional.ofNullable(catalog().itemsById().get(id)).map(CachingChecklistAdapter::copyOf);
+    }
+
+    @Override
+    public List<ChecklistItem> saveAllItems(List<ChecklistItem> items) {
+        try {
+            return delegate.saveAllItems(items);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void deleteItemById(String id) {
+        try {
+            delegate.deleteItemById(id);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void applyItemChanges(List<ChecklistItem> updatedItems, List<ChecklistItem> deletedItems) {
+        try {
+            delegate.applyItemChanges(updatedItems, deletedItems);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public Optional<UserChecklist> findUserChecklistByDate(String userId, LocalDate date) {
+        // Writes from other instances only evict entries when the change stream runs, so entries also expire
+        CachedChecklist cached = userChecklists.get(new UserChecklistKey(userId, date));
+        if (cached != null && !cached.isExpired(System.nanoTime())) {
+            return Optional.of(cached.checklist());
+        }
+        Optional<UserChecklist> loaded = delegate.findUserChecklistByDate(userId, date);
+        loaded.ifPresent(this::cacheUserChecklist);
+        return loaded;
+    }
+
+    @Override
+    public UserChecklist saveUserChecklist(UserChecklist userChecklist) {
+        try {
+            return cacheUserChecklist(delegate.saveUserChecklist(userChecklist));
+        } catch (RuntimeException ex) {
+            userChecklists.remove(UserChecklistKey.of(userChecklist));
+            throw ex;
+        }
+    }
+
+    @Override
+    public UserChecklist materializeUserChecklist(String userId, LocalDate date, List<UserChecklistItem> items) {
+        return cacheUserChecklist(delegate.materializeUserChecklist(userId, date, items));
+    }
+
+    @Override
+    public Optional<UserChecklist> updateItemCompletion(String userId, LocalDate date, String itemId, boolean complete) {
+        Optional<UserChecklist> updated = delegate.updateItemCompletion(userId, date, itemId, complete);
+        updated.ifPresent(this::cacheUserChecklist);
+        return updated;
+    }
+
+    @Override
+    public Optional<UserChecklist> applyCompletionBatch(String userId, LocalDate date, CompletionBatch batch) {
+        Optional<UserChecklist> updated = delegate.applyCompletionBatch(userId, date, batch);
+        updated.ifPresent(this::cacheUserChecklist);
+        return updated;
+    }
+
+    @Override
+    public List<String> findUserIdsWithChecklist(LocalDate date, String afterUserId, int limit) {
+        return delegate.findUserIdsWithChecklist(date, afterUserId, limit);
+    }
+
+    @Override
+    public int createUserChecklistsIfAbsent(List<UserChecklist> userChecklists) {
+        return delegate.createUserChecklistsIfAbsent(userChecklists);
+    }
+
+    @Override
+    public List<UserChecklist> findUserChecklistHistory(String userId, LocalDate from, LocalDate to) {
+        return delegate.findUserChecklistHistory(userId, from, to);
+    }
+
+    @Override
+    public List<UserChecklist> findUserChecklistsBefore(LocalDate cutoff, int limit) {
+        return delegate.findUserChecklistsBefore(cutoff, limit);
+    }
+
+    @Override
+    public int archiveUserChecklists(List<UserChecklist> userChecklists) {
+        userChecklists.forEach(checklist -> this.userChecklists.remove(UserChecklistKey.of(checklist)));
+        return delegate.archiveUserChecklists(userChecklists);
+    }
+
+    @Override
+    public Optional<RolloverCheckpoint> findRolloverCheckpoint(LocalDate date) {
+        return delegate.findRolloverCheckpoint(date);
+    }
+
+    @Override
+    public void saveRolloverCheckpoint(RolloverCheckpoint checkpoint) {
+        delegate.saveRolloverCheckpoint(checkpoint);
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        catalog.set(null);
+        // Lets the domain drop its checklist template too, since catalog writes can bypass the use case
+        events.publishEvent(new CatalogChangedEvent());
+    }
+
+    public void clear() {
+        invalidate();
+        userChecklists.clear();
+    }
+
+    // Catches catalog writes that bypass this port, e.g. direct MongoTemplate saves. Only write events count:
+    // every document MongoTemplate reads raises load/convert events too, including the catalog load itself.
+    @EventListener
+    public void onMongoSave(AfterSaveEvent<?> event) {
+        if (ITEMS_COLLECTION.equals(event.getCollectionName())) {
+            invalidate();
+        } else if (event.getSource() instanceof UserChecklist userChecklist) {
+            userChecklists.remove(UserChecklistKey.of(userChecklist));
+        } else if (event.getSource() instanceof CompactUserChecklistDocument compact) {
+            userChecklists.remove(new UserChecklistKey(compact.userId(), compact.date()));
+        }
+    }
+
+    // A delete event only carries the query, so removed checklists cannot be told apart from the rest
+    @EventListener
+    public void onMongoDelete(AfterDeleteEvent<?> event) {
+        if (ITEMS_COLLECTION.equals(event.getCollectionName())) {
+            invalidate();
+        } else if (USER_CHECKLISTS_COLLECTION.equals(event.getCollectionName())
+                || COMPACT_USER_CHECKLISTS_COLLECTION.equals(event.getCollectionName())) {
+            userChecklists.clear();
+        }
+    }
+
+    // Only fires with checklist.stream.enabled; covers writes made by other instances
+    @EventListener
+    public void onChecklistChange(ChecklistChange change) {
+        switch (change) {
+            case UserChecklistChange userChange ->
+                    userChecklists.remove(new UserChecklistKey(userChange.userId(), userChange.date()));
+            case CatalogChange catalogChange -> invalidate();
+        }
+    }
+
+    private UserChecklist cacheUserChecklist(UserChecklist userChecklist) {
+        long now = System.nanoTime();
+        userChecklists.merge(UserChecklistKey.of(userChecklist),
+                new CachedChecklist(userChecklist, now + userChecklistTtlNanos),
+                (cached, latest) -> cached.isExpired(now) || cached.isSupersededBy(latest) ? latest : cached);
+        return userChecklist;
+    }
+
+    private static long versionOf(UserChecklist userChecklist) {
+        return Objects.requireNonNullElse(userChecklist.getVersion(), 0L);
+    }
+
+    // Access-ordered, so the checklists users keep polling stay cached and stale days age out first
+    private static <K, V> Map<K, V> lruMap(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    private static Stream<ChecklistItem> sorted(Stream<ChecklistItem> items, ChecklistItemQuery query) {
+        return query.sort().getComparator() == null ? items : items.sorted(query.sort().getComparator());
+    }
+
+    private static ChecklistItem copyOf(ChecklistItem item) {
+        return item.toBuilder().build();
+    }
+
+    // Expires as well, since catalog writes made by other instances only reach this cache through the change stream
+    private CatalogSnapshot catalog() {
+        CatalogSnapshot cached = catalog.get();
+        long now = System.nanoTime();
+        if (cached != null && !cached.isExpired(now)) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long observedGeneration = generation.get();
+        CatalogSnapshot loaded = CatalogSnapshot.of(delegate.findAllItems(), now + catalogTtlNanos);
+        if (catalog.compareAndSet(cached, loaded)) {
+            if (generation.get() != observedGeneration) {
+                // An invalidation raced with the load, so the snapshot may predate the write
+                catalog.compareAndSet(loaded, null);
+            } else if (cached != null && !cached.items().equals(loaded.items())) {
+                // The catalog changed elsewhere, so the domain's template is stale as well
+                events.publishEvent(new CatalogChangedEvent());
+            }
+        }
+        return loaded;
+    }
+
+    private record CachedChecklist(UserChecklist checklist, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+
+        boolean isSupersededBy(CachedChecklist other) {
+            return versionOf(other.checklist()) >= versionOf(checklist);
+        }
+    }
+
+    private record CatalogSnapshot(List<ChecklistItem> items, Map<String, ChecklistItem> itemsById,
+                                   long expiresAtNanos) {
+        static CatalogSnapshot of(List<ChecklistItem> items, long expiresAtNanos) {
+            return new CatalogSnapshot(
+                    List.copyOf(items),
+                    items.stream().collect(Collectors.toUnmodifiableMap(ChecklistItem::getId, Function.identity())),
+                    expiresAtNanos
+            );
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
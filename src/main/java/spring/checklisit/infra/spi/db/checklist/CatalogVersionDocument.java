@@ -0,0 +1,14 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+
+import java.util.List;
+
+@Document(collection = "catalog_versions")
+public record CatalogVersionDocument(
+        @Id String id,
+        List<UserChecklistItem> items
+) {
+}
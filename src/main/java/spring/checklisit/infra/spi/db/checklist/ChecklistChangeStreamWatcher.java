@@ -0,0 +1,179 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import spring.checklisit.domain.checklist.ChecklistChange;
+import spring.checklisit.domain.checklist.ChecklistChange.CatalogChange;
+import spring.checklisit.domain.checklist.ChecklistChange.UserChecklistChange;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+import spring.checklisit.infra.spi.db.checklist.MongoChecklistProperties.UserChecklistFormat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// A single change-stream cursor per instance, shared by every subscriber through ChecklistChange events.
+// Change streams need a replica set, so this is off unless checklist.stream.enabled is set. Daily checklists are
+// watched in whichever collection the configured format writes to.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "checklist.stream", name = "enabled", havingValue = "true")
+public class ChecklistChangeStreamWatcher implements SmartLifecycle {
+
+    private static final String ITEMS_COLLECTION = "checklist_items";
+    private static final Pattern ITEM_COMPLETE = Pattern.compile("items\\.(\\d+)\\.complete");
+    private static final Duration REOPEN_DELAY = Duration.ofSeconds(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher events;
+    private final MongoChecklistProperties properties;
+    private final CompactUserChecklistStore compactStore;
+    private volatile boolean running;
+    private volatile Thread worker;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private BsonDocument resumeToken;
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofVirtual().name("checklist-change-stream").start(this::watch);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> open = cursor;
+        if (open != null) {
+            open.close();
+        }
+        worker.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isWatching() {
+        return cursor != null;
+    }
+
+    private void watch() {
+        while (running) {
+            try {
+                ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                        .watch(List.of(Aggregates.match(
+                                Filters.in("ns.coll", ITEMS_COLLECTION, userChecklistsCollection()))))
+                        .fullDocument(FullDocument.UPDATE_LOOKUP);
+                if (resumeToken != null) {
+                    // Picks up where the failed cursor stopped, so no write is missed across a reconnect
+                    stream = stream.resumeAfter(resumeToken);
+                }
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> open = stream.cursor()) {
+                    cursor = open;
+                    while (running && open.hasNext()) {
+                        ChangeStreamDocument<Document> event = open.next();
+                        resumeToken = event.getResumeToken();
+                        toChange(event).ifPresent(events::publishEvent);
+                    }
+                } finally {
+                    cursor = null;
+                }
+            } catch (RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Checklist change stream failed, reopening in {}", REOPEN_DELAY, ex);
+                try {
+                    Thread.sleep(REOPEN_DELAY);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Optional<ChecklistChange> toChange(ChangeStreamDocument<Document> event) {
+        if (ITEMS_COLLECTION.equals(event.getNamespace().getCollectionName())) {
+            return Optional.of(new CatalogChange());
+        }
+        if (event.getFullDocument() == null) {
+            // Deleted, or gone again before the update lookup ran
+            return Optional.empty();
+        }
+
+        if (isCompact()) {
+            return compactChange(event);
+        }
+        UserChecklist checklist = mongoTemplate.getConverter().read(UserChecklist.class, event.getFullDocument());
+        return switch (event.getOperationType()) {
+            case INSERT, REPLACE -> Optional.of(changeOf(checklist, true, checklist.getItems()));
+            case UPDATE -> completionDelta(event, checklist);
+            default -> Optional.empty();
+        };
+    }
+
+    // A compact update only carries the new completion words, not which bits flipped, so it is sent as a snapshot
+    private Optional<ChecklistChange> compactChange(ChangeStreamDocument<Document> event) {
+        UserChecklist checklist = compactStore.read(event.getFullDocument());
+        return switch (event.getOperationType()) {
+            case INSERT, REPLACE, UPDATE -> Optional.of(changeOf(checklist, true, checklist.getItems()));
+            default -> Optional.empty();
+        };
+    }
+
+    private String userChecklistsCollection() {
+        return mongoTemplate.getCollectionName(isCompact() ? CompactUserChecklistDocument.class : UserChecklist.class);
+    }
+
+    private boolean isCompact() {
+        return properties.userChecklistFormat() == UserChecklistFormat.COMPACT;
+    }
+
+    // Toggles set items.<index>.complete; the looked-up document maps each index back to its item
+    private Optional<ChecklistChange> completionDelta(ChangeStreamDocument<Document> event, UserChecklist checklist) {
+        if (event.getUpdateDescription() == null || event.getUpdateDescription().getUpdatedFields() == null) {
+            return Optional.empty();
+        }
+        List<UserChecklistItem> changed = new ArrayList<>();
+        for (Map.Entry<String, BsonValue> field : event.getUpdateDescription().getUpdatedFields().entrySet()) {
+            Matcher matcher = ITEM_COMPLETE.matcher(field.getKey());
+            if (!matcher.matches() || !field.getValue().isBoolean()) {
+                continue;
+            }
+            int index = Integer.parseInt(matcher.group(1));
+            if (index < checklist.getItems().size()) {
+                changed.add(checklist.getItems().get(index).toBuilder()
+                        .complete(field.getValue().asBoolean().getValue())
+                        .build());
+            }
+        }
+        return changed.isEmpty() ? Optional.empty() : Optional.of(changeOf(checklist, false, changed));
+    }
+
+    private static UserChecklistChange changeOf(UserChecklist checklist, boolean snapshot, List<UserChecklistItem> items) {
+        return new UserChecklistChange(checklist.getId(), checklist.getUserId(), checklist.getDate(),
+                Objects.requireNonNullElse(checklist.getVersion(), 0L), snapshot, items);
+    }
+}
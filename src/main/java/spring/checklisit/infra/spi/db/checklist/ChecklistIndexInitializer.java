@@ -0,0 +1,109 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.CreateCollectionOptions;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.UserChecklist;
+
+@Component
+@RequiredArgsConstructor
+public class ChecklistIndexInitializer implements SmartInitializingSingleton {
+
+    private static final String LEGACY_DATE_INDEX = "date_unique";
+    private static final int NAMESPACE_EXISTS = 48;
+
+    private final MongoTemplate mongoTemplate;
+
+    // Runs once every singleton exists, which is before the web server starts, so no request hits a missing index
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureIndexes();
+    }
+
+    public void ensureIndexes() {
+        IndexOperations userChecklistIndexes = mongoTemplate.indexOps(UserChecklist.class);
+        assignLegacyChecklistsToDefaultUser(userChecklistIndexes);
+        ensureUserChecklistIndexes(userChecklistIndexes);
+        ensureUserChecklistIndexes(mongoTemplate.indexOps(CompactUserChecklistDocument.class));
+
+        mongoTemplate.indexOps(ChecklistItem.class).createIndex(new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("category", Sort.Direction.ASC)
+                .on("order", Sort.Direction.ASC)
+                .named("status_category_order"));
+        mongoTemplate.indexOps(ChecklistItem.class).createIndex(new Index()
+                .on("category", Sort.Direction.ASC)
+                .on("order", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named("category_order_id"));
+
+        // Counter upserts and the rebuild's $merge both key rollups by (date, itemId), and $merge requires it unique
+        mongoTemplate.indexOps(DailyItemRollupDocument.class).createIndex(new Index()
+                .on("date", Sort.Direction.ASC)
+                .on("itemId", Sort.Direction.ASC)
+                .unique()
+                .named("date_itemId_unique"));
+
+        ensureArchiveCollection();
+    }
+
+    // Archived days are cold and highly repetitive, so their collection trades some CPU for zstd block compression.
+    // Storage options only apply at creation; an existing collection is left as it is.
+    private void ensureArchiveCollection() {
+        try {
+            mongoTemplate.getDb().createCollection(CompactUserChecklistStore.ARCHIVE_COLLECTION,
+                    new CreateCollectionOptions().storageEngineOptions(new Document("wiredTiger",
+                            new Document("configString", "block_compressor=zstd"))));
+        } catch (MongoCommandException ex) {
+            if (ex.getErrorCode() != NAMESPACE_EXISTS) {
+                throw ex;
+            }
+        }
+        mongoTemplate.indexOps(CompactUserChecklistStore.ARCHIVE_COLLECTION).createIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("date", Sort.Direction.ASC)
+                .named("userId_date"));
+        // Rollup rebuilds read archived days by date across users
+        mongoTemplate.indexOps(CompactUserChecklistStore.ARCHIVE_COLLECTION).createIndex(new Index()
+                .on("date", Sort.Direction.ASC)
+                .on("userId", Sort.Direction.ASC)
+                .named("date_userId"));
+    }
+
+    private void ensureUserChecklistIndexes(IndexOperations indexes) {
+        // (userId, date) is also the intended shard key, so per-user lookups stay single-shard
+        indexes.createIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("date", Sort.Direction.ASC)
+                .unique()
+                .named("userId_date_unique"));
+        indexes.createIndex(new Index()
+                .on("date", Sort.Direction.ASC)
+                .on("userId", Sort.Direction.ASC)
+                .named("date_userId"));
+    }
+
+    // Checklists written before userId existed belong to the single implicit user
+    private void assignLegacyChecklistsToDefaultUser(IndexOperations userChecklistIndexes) {
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("userId").exists(false)),
+                new Update().set("userId", UserChecklist.DEFAULT_USER_ID),
+                UserChecklist.class);
+        boolean hasLegacyIndex = userChecklistIndexes.getIndexInfo().stream()
+                .anyMatch(index -> LEGACY_DATE_INDEX.equals(index.getName()));
+        if (hasLegacyIndex) {
+            userChecklistIndexes.dropIndex(LEGACY_DATE_INDEX);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.ChecklistItemQuery;
+import spring.checklisit.domain.checklist.CompletionBatch;
+import spring.checklisit.domain.checklist.ItemCursor;
+import spring.checklisit.domain.checklist.ItemSort;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Query building shared by the blocking and reactive adapters
+final class ChecklistQueries {
+
+    private ChecklistQueries() {
+    }
+
+    static Query toQuery(ChecklistItemQuery itemQuery) {
+        Query query = new Query();
+        if (itemQuery.status() != null) {
+            query.addCriteria(Criteria.where("status").is(itemQuery.status()));
+        }
+        if (itemQuery.category() != null) {
+            query.addCriteria(Criteria.where("category").is(itemQuery.category()));
+        }
+        if (!itemQuery.fields().isEmpty()) {
+            query.fields().include(itemQuery.fields().toArray(String[]::new));
+        }
+        return query;
+    }
+
+    static Query toPageQuery(ChecklistItemQuery itemQuery, ItemCursor after, int limit) {
+        Query query = toQuery(itemQuery)
+                .with(sortOf(ItemSort.CATEGORY_ORDER))
+                .limit(limit + 1);
+        if (after != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("category").gt(after.category()),
+                    Criteria.where("category").is(after.category()).and("order").gt(after.order()),
+                    Criteria.where("category").is(after.category()).and("order").is(after.order())
+                            .and("_id").gt(after.id())));
+        }
+        return query;
+    }
+
+    static Sort sortOf(ItemSort sort) {
+        return switch (sort) {
+            case NONE -> Sort.unsorted();
+            case CATEGORY_ORDER -> Sort.by("category", "order", "_id");
+            case ORDER -> Sort.by("order", "_id");
+            case LABEL -> Sort.by("label", "_id");
+        };
+    }
+
+    static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+
+    // A null version also matches documents written before versioning, which carry no version field
+    static Query byIdAndVersion(String id, Long version) {
+        return new Query(Criteria.where("_id").is(id).and("version").is(version));
+    }
+
+    static Query byUserAndDate(String userId, LocalDate date) {
+        return new Query(Criteria.where("userId").is(userId).and("date").is(date));
+    }
+
+    static Query byUserAndDateRange(String userId, LocalDate from, LocalDate to) {
+        return new Query(Criteria.where("userId").is(userId).and("date").gte(from).lte(to))
+                .with(Sort.by("date"));
+    }
+
+    // Oldest days first, in (date, userId) index order
+    static Query beforeQuery(LocalDate cutoff, int limit) {
+        return new Query(Criteria.where("date").lt(cutoff))
+                .with(Sort.by("date", "userId"))
+                .limit(limit);
+    }
+
+    static Query byUserChecklistItem(String userId, LocalDate date, String itemId) {
+        return byUserAndDate(userId, date).addCriteria(Criteria.where("items.itemId").is(itemId));
+    }
+
+    // Matches only while the item is not yet in the given state, so a matched update is a real change
+    static Query byUserChecklistItemNotIn(String userId, LocalDate date, String itemId, boolean complete) {
+        return byUserAndDate(userId, date).addCriteria(Criteria.where("items").elemMatch(
+                Criteria.where("itemId").is(itemId).and("complete").ne(complete)));
+    }
+
+    static Update completionUpdate(String itemId, boolean complete) {
+        return new Update()
+                .set("items.$[elem].complete", complete)
+                .inc("version", 1)
+                .filterArray(Criteria.where("elem.itemId").is(itemId));
+    }
+
+    // One array filter per target state, by id and by category; category filters skip items listed by id, so no
+    // element is matched by two filters (MongoDB rejects such conflicting updates)
+    static Update completionBatchUpdate(CompletionBatch batch) {
+        Update update = new Update().inc("version", 1);
+        for (boolean complete : new boolean[]{true, false}) {
+            String byItem = complete ? "done" : "undone";
+            List<String> itemIds = batch.items().entrySet().stream()
+                    .filter(target -> target.getValue() == complete)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!itemIds.isEmpty()) {
+                update.set("items.$[" + byItem + "].complete", complete)
+                        .filterArray(Criteria.where(byItem + ".itemId").in(itemIds));
+            }
+
+            String byCategory = byItem + "category";
+            List<Category> categories = batch.categories().entrySet().stream()
+                    .filter(target -> target.getValue() == complete)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!categories.isEmpty()) {
+                update.set("items.$[" + byCategory + "].complete", complete)
+                        .filterArray(Criteria.where(byCategory + ".category").in(categories)
+                                .and(byCategory + ".itemId").nin(batch.items().keySet()));
+            }
+        }
+        return update;
+    }
+
+    // Only applied when the upsert inserts, so an existing day's snapshot is never overwritten
+    static Update insertFields(List<UserChecklistItem> items) {
+        return new Update()
+                .setOnInsert("items", items)
+                .setOnInsert("version", 1L);
+    }
+}
@@ -0,0 +1,18 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Document(collection = "compact_user_checklists")
+public record CompactUserChecklistDocument(
+        @Id String id,
+        String userId,
+        LocalDate date,
+        String catalogVersion,
+        List<Long> words,
+        long version
+) {
+}
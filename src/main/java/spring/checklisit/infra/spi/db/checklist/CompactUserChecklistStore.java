@@ -0,0 +1,354 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import spring.checklisit.domain.checklist.CompletionBatch;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.beforeQuery;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byId;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byUserAndDate;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byUserAndDateRange;
+
+// Stores a daily checklist as a catalog-version reference plus completion bits, one bit per template position.
+// Catalog versions are content-addressed, so a version id always resolves to the same items and caches forever.
+@Component
+@RequiredArgsConstructor
+public class CompactUserChecklistStore {
+
+    static final String ARCHIVE_COLLECTION = "user_checklist_archive";
+    private static final int WORD_BITS = Long.SIZE;
+    private static final int MAX_VERSION_SWITCHES = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final DailyRollupWriter rollupWriter;
+    private final Map<String, List<UserChecklistItem>> catalogVersions = new ConcurrentHashMap<>();
+    private final AtomicReference<RegisteredTemplate> lastRegistered = new AtomicReference<>();
+
+    public Optional<UserChecklist> findByDate(String userId, LocalDate date) {
+        return Optional.ofNullable(mongoTemplate.findOne(byUserAndDate(userId, date), CompactUserChecklistDocument.class))
+                .map(this::expand);
+    }
+
+    // Mirrors @Version on the expanded format: a known checklist is replaced only at the version it was read at
+    public UserChecklist save(UserChecklist userChecklist) {
+        Long expected = userChecklist.getVersion();
+        CompactUserChecklistDocument document = toDocument(userChecklist, expected == null ? 1L : expected + 1);
+        if (document.id() == null) {
+            userChecklist.setId(mongoTemplate.insert(document).id());
+            rollupWriter.recordAssigned(List.of(userChecklist));
+        } else {
+            Query query = byId(document.id()).addCriteria(Criteria.where("version").is(expected));
+            if (mongoTemplate.replace(query, document).getMatchedCount() == 0) {
+                throw new OptimisticLockingFailureException(
+                        "Checklist " + document.id() + " changed since version " + expected);
+            }
+        }
+        userChecklist.setVersion(document.version());
+        return userChecklist;
+    }
+
+    public UserChecklist materialize(String userId, LocalDate date, List<UserChecklistItem> items) {
+        Query query = byUserAndDate(userId, date);
+        BsonValue upsertedId;
+        try {
+            upsertedId = mongoTemplate.upsert(query, insertFields(items), CompactUserChecklistDocument.class)
+                    .getUpsertedId();
+        } catch (DuplicateKeyException ex) {
+            // Lost the insert race to another reader; their snapshot is the one to use
+            upsertedId = null;
+        }
+        if (upsertedId == null) {
+            return expand(mongoTemplate.findOne(query, CompactUserChecklistDocument.class));
+        }
+
+        UserChecklist created = expand(new CompactUserChecklistDocument(
+                upsertedId.asObjectId().getValue().toHexString(), userId, date, register(items), wordsOf(items), 1L));
+        rollupWriter.recordAssigned(List.of(created));
+        return created;
+    }
+
+    // The item's bit is resolved against the catalog version this instance registered last, which is what today's
+    // checklists are built from, and the update only matches a document still at that version, so the usual toggle
+    // is a single findAndModify. A document on another version, e.g. after a reset switched catalogs, is read and the
+    // bit resolved again against its version.
+    public Optional<UserChecklist> updateItemCompletion(String userId, LocalDate date, String itemId, boolean complete) {
+        RegisteredTemplate registered = lastRegistered.get();
+        String catalogVersion = registered == null ? null : registered.versionId();
+        CompactUserChecklistDocument latest = null;
+        for (int attempt = 0; attempt < MAX_VERSION_SWITCHES; attempt++) {
+            if (catalogVersion == null) {
+                latest = mongoTemplate.findOne(byUserAndDate(userId, date), CompactUserChecklistDocument.class);
+                if (latest == null) {
+                    return Optional.empty();
+                }
+                catalogVersion = latest.catalogVersion();
+            }
+            List<UserChecklistItem> template = itemsOf(catalogVersion);
+            int position = positionOf(template, itemId);
+            if (position < 0) {
+                if (latest != null) {
+                    return Optional.empty();
+                }
+                // The item is not in the guessed version, which says nothing about the document's own
+                catalogVersion = null;
+                continue;
+            }
+
+            CompactUserChecklistDocument updated = setBit(userId, date, catalogVersion, position, complete);
+            if (updated != null) {
+                rollupWriter.recordCompletionChanges(date,
+                        List.of(template.get(position).toBuilder().complete(complete).build()));
+                return Optional.of(expand(updated));
+            }
+            // No match means the item already had that state, unless the document is on another catalog version
+            latest = mongoTemplate.findOne(byUserAndDate(userId, date), CompactUserChecklistDocument.class);
+            if (latest == null) {
+                return Optional.empty();
+            }
+            if (latest.catalogVersion().equals(catalogVersion)) {
+                return Optional.of(expand(latest));
+            }
+            catalogVersion = latest.catalogVersion();
+        }
+        throw new OptimisticLockingFailureException(
+                "Checklist of user " + userId + " kept switching catalog versions while toggling " + itemId);
+    }
+
+    private CompactUserChecklistDocument setBit(String userId, LocalDate date, String catalogVersion, int position,
+                                                boolean complete) {
+        String word = "words." + position / WORD_BITS;
+        int bit = position % WORD_BITS;
+        long mask = 1L << bit;
+        Update update = complete
+                ? new Update().bitwise(word).or(mask)
+                : new Update().bitwise(word).and(~mask);
+        update.inc("version", 1);
+        // The bit test makes the update match only when the item's state really changes. Bit tests take positions,
+        // since a numeric bitmask must fit a non-negative 32-bit int.
+        List<Integer> bits = List.of(bit);
+        Query query = byUserAndDate(userId, date)
+                .addCriteria(Criteria.where("catalogVersion").is(catalogVersion))
+                .addCriteria(complete ? Criteria.where(word).bits().allClear(bits) : Criteria.where(word).bits().allSet(bits));
+        return mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), CompactUserChecklistDocument.class);
+    }
+
+    // Targets depend on the item's template position, so the new words are computed here and written only if the
+    // document is still at the version they were computed from
+    public Optional<UserChecklist> applyCompletionBatch(String userId, LocalDate date, CompletionBatch batch) {
+        CompactUserChecklistDocument current =
+                mongoTemplate.findOne(byUserAndDate(userId, date), CompactUserChecklistDocument.class);
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        List<UserChecklistItem> template = itemsOf(current.catalogVersion());
+        long[] words = new long[(template.size() + WORD_BITS - 1) / WORD_BITS];
+        for (int position = 0; position < template.size(); position++) {
+            UserChecklistItem item = template.get(position);
+            if (batch.targetOf(item).orElse(isSet(current.words(), position))) {
+                words[position / WORD_BITS] |= 1L << (position % WORD_BITS);
+            }
+        }
+
+        Query query = byId(current.id()).addCriteria(Criteria.where("version").is(current.version()));
+        Update update = new Update()
+                .set("words", Arrays.stream(words).boxed().toList())
+                .inc("version", 1);
+        CompactUserChecklistDocument updated = mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), CompactUserChecklistDocument.class);
+        if (updated == null) {
+            throw new OptimisticLockingFailureException(
+                    "Checklist changed while applying completion batch for user " + userId);
+        }
+        List<UserChecklistItem> changed = IntStream.range(0, template.size())
+                .filter(position -> isSet(current.words(), position) != isSet(updated.words(), position))
+                .mapToObj(position -> template.get(position).toBuilder()
+                        .complete(isSet(updated.words(), position))
+                        .build())
+                .toList();
+        rollupWriter.recordCompletionChanges(date, changed);
+        return Optional.of(expand(updated));
+    }
+
+    public List<UserChecklist> findBefore(LocalDate cutoff, int limit) {
+        return mongoTemplate.find(beforeQuery(cutoff, limit), CompactUserChecklistDocument.class).stream()
+                .map(this::expand)
+                .toList();
+    }
+
+    public List<UserChecklist> findByDateRange(String userId, LocalDate from, LocalDate to) {
+        return mongoTemplate.find(byUserAndDateRange(userId, from, to), CompactUserChecklistDocument.class).stream()
+                .map(this::expand)
+                .toList();
+    }
+
+    // Archived days keep this encoding whatever the live format: the catalog version they were built from plus the
+    // completion bits that differ from it. Keyed by the live id, so re-archiving after a crash overwrites the copy.
+    public void archive(List<UserChecklist> userChecklists) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(
+                BulkOperations.BulkMode.UNORDERED, CompactUserChecklistDocument.class, ARCHIVE_COLLECTION);
+        userChecklists.forEach(checklist -> bulkOps.replaceOne(
+                byId(checklist.getId()),
+                toDocument(checklist, Objects.requireNonNullElse(checklist.getVersion(), 0L)),
+                FindAndReplaceOptions.options().upsert()));
+        bulkOps.execute();
+    }
+
+    public List<UserChecklist> findArchived(String userId, LocalDate from, LocalDate to) {
+        return mongoTemplate.find(byUserAndDateRange(userId, from, to), CompactUserChecklistDocument.class,
+                        ARCHIVE_COLLECTION).stream()
+                .map(this::expand)
+                .toList();
+    }
+
+    public Stream<UserChecklist> streamByDateRange(LocalDate from, LocalDate to) {
+        Query query = new Query(Criteria.where("date").gte(from).lte(to));
+        return mongoTemplate.stream(query, CompactUserChecklistDocument.class).map(this::expand);
+    }
+
+    public Stream<UserChecklist> streamArchivedByDateRange(LocalDate from, LocalDate to) {
+        Query query = new Query(Criteria.where("date").gte(from).lte(to));
+        return mongoTemplate.stream(query, CompactUserChecklistDocument.class, ARCHIVE_COLLECTION).map(this::expand);
+    }
+
+    public UserChecklist read(Document raw) {
+        return expand(mongoTemplate.getConverter().read(CompactUserChecklistDocument.class, raw));
+    }
+
+    public Update insertFields(List<UserChecklistItem> items) {
+        return new Update()
+                .setOnInsert("catalogVersion", register(items))
+                .setOnInsert("words", wordsOf(items))
+                .setOnInsert("version", 1L);
+    }
+
+    private CompactUserChecklistDocument toDocument(UserChecklist userChecklist, long version) {
+        List<UserChecklistItem> items = userChecklist.getItems();
+        return new CompactUserChecklistDocument(
+                userChecklist.getId(),
+                userChecklist.getUserId(),
+                userChecklist.getDate(),
+                register(items),
+                wordsOf(items),
+                version);
+    }
+
+    private UserChecklist expand(CompactUserChecklistDocument document) {
+        List<UserChecklistItem> template = itemsOf(document.catalogVersion());
+        List<UserChecklistItem> items = IntStream.range(0, template.size())
+                .mapToObj(position -> isSet(document.words(), position)
+                        ? template.get(position).toBuilder().complete(true).build()
+                        : template.get(position))
+                .toList();
+        return UserChecklist.builder()
+                .id(document.id())
+                .userId(document.userId())
+                .date(document.date())
+                .items(items)
+                .version(document.version())
+                .build();
+    }
+
+    private String register(List<UserChecklistItem> items) {
+        // Resets and rollovers pass the same shared template list, so its id is only computed once
+        RegisteredTemplate last = lastRegistered.get();
+        if (last != null && last.items() == items) {
+            return last.versionId();
+        }
+
+        List<UserChecklistItem> template = items.stream()
+                .map(item -> item.isComplete() ? item.toBuilder().complete(false).build() : item)
+                .toList();
+        String versionId = versionIdOf(template);
+        if (!catalogVersions.containsKey(versionId)) {
+            mongoTemplate.upsert(
+                    byId(versionId),
+                    new Update().setOnInsert("items", template),
+                    CatalogVersionDocument.class);
+            catalogVersions.put(versionId, template);
+        }
+        lastRegistered.set(new RegisteredTemplate(items, versionId));
+        return versionId;
+    }
+
+    private List<UserChecklistItem> itemsOf(String versionId) {
+        return catalogVersions.computeIfAbsent(versionId, id ->
+                Optional.ofNullable(mongoTemplate.findById(id, CatalogVersionDocument.class))
+                        .map(CatalogVersionDocument::items)
+                        .map(List::copyOf)
+                        .orElseThrow(() -> new IllegalStateException("Unknown catalog version: " + id)));
+    }
+
+    private static String versionIdOf(List<UserChecklistItem> template) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            template.forEach(item -> digest.update("%s\u0000%s\u0000%s\u0000%d\n"
+                    .formatted(item.getItemId(), item.getLabel(), item.getCategory(), item.getOrder())
+                    .getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(Arrays.copyOf(digest.digest(), 16));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static List<Long> wordsOf(List<UserChecklistItem> items) {
+        long[] words = new long[(items.size() + WORD_BITS - 1) / WORD_BITS];
+        for (int position = 0; position < items.size(); position++) {
+            if (items.get(position).isComplete()) {
+                words[position / WORD_BITS] |= 1L << (position % WORD_BITS);
+            }
+        }
+        List<Long> result = new ArrayList<>(words.length);
+        for (long word : words) {
+            result.add(word);
+        }
+        return result;
+    }
+
+    private static boolean isSet(List<Long> words, int position) {
+        int word = position / WORD_BITS;
+        return word < words.size() && (words.get(word) & (1L << (position % WORD_BITS))) != 0;
+    }
+
+    private static int positionOf(List<UserChecklistItem> template, String itemId) {
+        for (int position = 0; position < template.size(); position++) {
+            if (template.get(position).getItemId().equals(itemId)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private record RegisteredTemplate(List<UserChecklistItem> items, String versionId) {
+    }
+}
@@ -0,0 +1,19 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import spring.checklisit.domain.checklist.Category;
+
+import java.time.LocalDate;
+
+// How many of the day's checklists held the item, and how many of those had it completed
+@Document(collection = "checklist_daily_rollups")
+public record DailyItemRollupDocument(
+        @Id String id,
+        LocalDate date,
+        String itemId,
+        Category category,
+        long assigned,
+        long completed
+) {
+}
@@ -0,0 +1,87 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps the daily rollups current between rebuilds with counter increments; every call is one unordered bulk write
+@Component
+@RequiredArgsConstructor
+public class DailyRollupWriter {
+
+    private final MongoTemplate mongoTemplate;
+
+    // Each item carries its new state and only items whose state actually changed are passed in
+    public void recordCompletionChanges(LocalDate date, List<UserChecklistItem> changedItems) {
+        if (changedItems.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DailyItemRollupDocument.class);
+        changedItems.forEach(item -> bulkOps.upsert(
+                byDateAndItem(date, item.getItemId()),
+                new Update()
+                        .setOnInsert("category", item.getCategory())
+                        .inc("completed", item.isComplete() ? 1 : -1)));
+        bulkOps.execute();
+    }
+
+    public void recordAssigned(Collection<UserChecklist> createdChecklists) {
+        recordAssigned(createdChecklists, mongoTemplate.getCollectionName(DailyItemRollupDocument.class));
+    }
+
+    // Rebuilds count into a staging collection before swapping the totals in
+    public void recordAssigned(Collection<UserChecklist> createdChecklists, String collection) {
+        Map<RollupKey, Counts> counts = new LinkedHashMap<>();
+        createdChecklists.forEach(checklist -> checklist.getItems().forEach(item -> counts
+                .computeIfAbsent(new RollupKey(checklist.getDate(), item.getItemId()), key -> new Counts(item))
+                .add(item)));
+        if (counts.isEmpty()) {
+            return;
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(
+                BulkOperations.BulkMode.UNORDERED, DailyItemRollupDocument.class, collection);
+        counts.forEach((key, count) -> bulkOps.upsert(
+                byDateAndItem(key.date(), key.itemId()),
+                new Update()
+                        .setOnInsert("category", count.item.getCategory())
+                        .inc("assigned", count.assigned)
+                        .inc("completed", count.completed)));
+        bulkOps.execute();
+    }
+
+    static Query byDateAndItem(LocalDate date, String itemId) {
+        return new Query(Criteria.where("date").is(date).and("itemId").is(itemId));
+    }
+
+    private record RollupKey(LocalDate date, String itemId) {
+    }
+
+    private static final class Counts {
+        private final UserChecklistItem item;
+        private long assigned;
+        private long completed;
+
+        private Counts(UserChecklistItem item) {
+            this.item = item;
+        }
+
+        private void add(UserChecklistItem assignedItem) {
+            assigned++;
+            if (assignedItem.isComplete()) {
+                completed++;
+            }
+        }
+    }
+}
@@ -1,29 +1,95 @@
 package spring.checklisit.infra.spi.db.checklist;
 
+import com.mongodb.bulk.BulkWriteResult;
 import lombok.RequiredArgsConstructor;
+import org.bson.BsonValue;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
+import spring.checklisit.domain.checklist.BatchWriteException;
+import spring.checklisit.domain.checklist.BatchWriteException.ItemWriteFailure;
 import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.ChecklistItemQuery;
 import spring.checklisit.domain.checklist.ChecklistPort;
+import spring.checklisit.domain.checklist.CompletionBatch;
+import spring.checklisit.domain.checklist.ItemCursor;
+import spring.checklisit.domain.checklist.ItemPage;
+import spring.checklisit.domain.checklist.RolloverCheckpoint;
 import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+import spring.checklisit.infra.spi.db.checklist.MongoChecklistProperties.UserChecklistFormat;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.beforeQuery;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byId;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byIdAndVersion;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byUserAndDate;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byUserAndDateRange;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byUserChecklistItem;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byUserChecklistItemNotIn;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.completionBatchUpdate;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.completionUpdate;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.insertFields;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.sortOf;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.toPageQuery;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.toQuery;
 
 @Repository
 @RequiredArgsConstructor
 public class MongoChecklistAdapter implements ChecklistPort {
 
+    private static final int DUPLICATE_KEY = 11000;
+
     private final MongoTemplate mongoTemplate;
+    private final MongoChecklistProperties properties;
+    private final CompactUserChecklistStore compactStore;
+    private final DailyRollupWriter rollupWriter;
 
     @Override
     public List<ChecklistItem> findAllItems() {
         return mongoTemplate.findAll(ChecklistItem.class);
     }
 
+    @Override
+    public List<ChecklistItem> findItems(ChecklistItemQuery itemQuery) {
+        return mongoTemplate.find(toQuery(itemQuery).with(sortOf(itemQuery.sort())), ChecklistItem.class);
+    }
+
+    @Override
+    public ItemPage findItemPage(ChecklistItemQuery itemQuery, ItemCursor after, int limit) {
+        List<ChecklistItem> items = mongoTemplate.find(toPageQuery(itemQuery, after, limit), ChecklistItem.class);
+        if (items.size() <= limit) {
+            return new ItemPage(items, null);
+        }
+        List<ChecklistItem> page = items.subList(0, limit);
+        return new ItemPage(page, ItemCursor.of(page.get(limit - 1)));
+    }
+
+    @Override
+    public Stream<ChecklistItem> streamItems(ChecklistItemQuery itemQuery) {
+        return mongoTemplate.stream(toQuery(itemQuery).with(sortOf(itemQuery.sort())), ChecklistItem.class);
+    }
+
     @Override
     public Optional<ChecklistItem> findItemById(String id) {
         return Optional.ofNullable(mongoTemplate.findById(id, ChecklistItem.class));
@@ -31,25 +97,325 @@ public class MongoChecklistAdapter implements ChecklistPort {
 
     @Override
     public List<ChecklistItem> saveAllItems(List<ChecklistItem> items) {
-        return items.stream()
-                .map(mongoTemplate::save)
+        // Ids are assigned up front so every item can be reported by id
+        items.stream()
+                .filter(item -> item.getId() == null || item.getId().isBlank())
+                .forEach(item -> item.setId(new ObjectId().toHexString()));
+
+        // New items are inserted, so reusing an existing id fails instead of overwriting; versioned items are
+        // replaced only if nobody changed them since they were read
+        List<ItemWrite> writes = items.stream()
+                .map(item -> item.getVersion() == null ? insertWrite(item) : replaceWrite(item))
                 .toList();
+        throwIfFailed(items, executeBulk(writes));
+        return items;
     }
 
     @Override
     public void deleteItemById(String id) {
-        Query query = new Query(Criteria.where("_id").is(id));
-        mongoTemplate.remove(query, ChecklistItem.class);
+        mongoTemplate.remove(byId(id), ChecklistItem.class);
+    }
+
+    @Override
+    public void applyItemChanges(List<ChecklistItem> updatedItems, List<ChecklistItem> deletedItems) {
+        List<ItemWrite> writes = new ArrayList<>();
+        updatedItems.forEach(item -> writes.add(replaceWrite(item)));
+        deletedItems.forEach(item -> writes.add(new ItemWrite(item.getId(), null, null, bulkOps ->
+                bulkOps.remove(byIdAndVersion(item.getId(), item.getVersion())))));
+        throwIfFailed(updatedItems, executeBulk(writes));
     }
 
     @Override
-    public Optional<UserChecklist> findUserChecklistByDate(LocalDate date) {
-        Query query = new Query(Criteria.where("date").is(date));
+    public Optional<UserChecklist> findUserChecklistByDate(String userId, LocalDate date) {
+        if (isCompact()) {
+            return compactStore.findByDate(userId, date);
+        }
+        Query query = byUserAndDate(userId, date);
         return Optional.ofNullable(mongoTemplate.findOne(query, UserChecklist.class));
     }
 
     @Override
     public UserChecklist saveUserChecklist(UserChecklist userChecklist) {
-        return mongoTemplate.save(userChecklist);
+        if (isCompact()) {
+            return compactStore.save(userChecklist);
+        }
+        boolean created = userChecklist.getId() == null;
+        // @Version turns the save into a conditional replace that throws when the checklist changed meanwhile
+        UserChecklist saved = mongoTemplate.save(userChecklist);
+        if (created) {
+            rollupWriter.recordAssigned(List.of(saved));
+        }
+        return saved;
+    }
+
+    @Override
+    public UserChecklist materializeUserChecklist(String userId, LocalDate date, List<UserChecklistItem> items) {
+        if (isCompact()) {
+            return compactStore.materialize(userId, date, items);
+        }
+        Query query = byUserAndDate(userId, date);
+        BsonValue upsertedId;
+        try {
+            upsertedId = mongoTemplate.upsert(query, insertFields(items), UserChecklist.class).getUpsertedId();
+        } catch (DuplicateKeyException ex) {
+            // Lost the insert race to another reader; their snapshot is the one to use
+            upsertedId = null;
+        }
+        if (upsertedId == null) {
+            return mongoTemplate.findOne(query, UserChecklist.class);
+        }
+
+        // The inserted document is fully known, so it is built here instead of being read back
+        UserChecklist created = UserChecklist.builder()
+                .id(upsertedId.asObjectId().getValue().toHexString())
+                .userId(userId)
+                .date(date)
+                .items(items)
+                .version(1L)
+                .build();
+        rollupWriter.recordAssigned(List.of(created));
+        return created;
+    }
+
+    @Override
+    public Optional<UserChecklist> updateItemCompletion(String userId, LocalDate date, String itemId, boolean complete) {
+        if (isCompact()) {
+            return compactStore.updateItemCompletion(userId, date, itemId, complete);
+        }
+        UserChecklist updated = mongoTemplate.findAndModify(
+                byUserChecklistItemNotIn(userId, date, itemId, complete),
+                completionUpdate(itemId, complete),
+                FindAndModifyOptions.options().returnNew(true),
+                UserChecklist.class);
+        if (updated != null) {
+            rollupWriter.recordCompletionChanges(date, updated.getItems().stream()
+                    .filter(item -> item.getItemId().equals(itemId))
+                    .toList());
+            return Optional.of(updated);
+        }
+        // Either the item already has the requested state or it is not in the checklist at all
+        return Optional.ofNullable(mongoTemplate.findOne(byUserChecklistItem(userId, date, itemId), UserChecklist.class));
+    }
+
+    // The update is atomic, so applying the batch to the returned pre-image yields exactly what was written, and
+    // tells which items actually changed state
+    @Override
+    public Optional<UserChecklist> applyCompletionBatch(String userId, LocalDate date, CompletionBatch batch) {
+        if (isCompact()) {
+            return compactStore.applyCompletionBatch(userId, date, batch);
+        }
+        UserChecklist checklist = mongoTemplate.findAndModify(
+                byUserAndDate(userId, date),
+                completionBatchUpdate(batch),
+                FindAndModifyOptions.options().returnNew(false),
+                UserChecklist.class);
+        if (checklist == null) {
+            return Optional.empty();
+        }
+        List<UserChecklistItem> before = checklist.getItems();
+        List<UserChecklistItem> after = batch.applyTo(before);
+        rollupWriter.recordCompletionChanges(date, IntStream.range(0, after.size())
+                .filter(index -> after.get(index) != before.get(index))
+                .mapToObj(after::get)
+                .toList());
+        checklist.setItems(after);
+        checklist.setVersion(Objects.requireNonNullElse(checklist.getVersion(), 0L) + 1);
+        return Optional.of(checklist);
+    }
+
+    @Override
+    public List<String> findUserIdsWithChecklist(LocalDate date, String afterUserId, int limit) {
+        Query query = new Query(Criteria.where("date").is(date))
+                .with(Sort.by("userId"))
+                .limit(limit);
+        if (afterUserId != null) {
+            query.addCriteria(Criteria.where("userId").gt(afterUserId));
+        }
+        query.fields().include("userId").exclude("_id");
+        if (isCompact()) {
+            return mongoTemplate.find(query, CompactUserChecklistDocument.class).stream()
+                    .map(CompactUserChecklistDocument::userId)
+                    .toList();
+        }
+        return mongoTemplate.find(query, UserChecklist.class).stream()
+                .map(UserChecklist::getUserId)
+                .toList();
+    }
+
+    @Override
+    public int createUserChecklistsIfAbsent(List<UserChecklist> userChecklists) {
+        if (userChecklists.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, userChecklistType());
+        userChecklists.forEach(checklist -> bulkOps.upsert(
+                byUserAndDate(checklist.getUserId(), checklist.getDate()),
+                isCompact()
+                        ? compactStore.insertFields(checklist.getItems())
+                        : insertFields(checklist.getItems())));
+        BulkWriteResult result;
+        try {
+            result = bulkOps.execute();
+        } catch (BulkOperationException ex) {
+            // A concurrent writer created some of the checklists first, which is exactly what we wanted
+            boolean onlyDuplicates = ex.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw ex;
+            }
+            result = ex.getResult();
+        }
+        List<UserChecklist> created = result.getUpserts().stream()
+                .map(upsert -> userChecklists.get(upsert.getIndex()))
+                .toList();
+        rollupWriter.recordAssigned(created);
+        return created.size();
+    }
+
+    // Live days win over archived copies, which only exist for a day while its archival is in progress
+    @Override
+    public List<UserChecklist> findUserChecklistHistory(String userId, LocalDate from, LocalDate to) {
+        // Archiving copies a day before deleting it from the live collection, so reading live first and the archive
+        // second cannot miss a day that is being archived; a day found in both keeps its live copy
+        List<UserChecklist> live = isCompact()
+                ? compactStore.findByDateRange(userId, from, to)
+                : mongoTemplate.find(byUserAndDateRange(userId, from, to), UserChecklist.class);
+        List<UserChecklist> archived = compactStore.findArchived(userId, from, to);
+        Map<LocalDate, UserChecklist> byDate = new TreeMap<>();
+        archived.forEach(checklist -> byDate.put(checklist.getDate(), checklist));
+        live.forEach(checklist -> byDate.put(checklist.getDate(), checklist));
+        return List.copyOf(byDate.values());
+    }
+
+    @Override
+    public List<UserChecklist> findUserChecklistsBefore(LocalDate cutoff, int limit) {
+        if (isCompact()) {
+            return compactStore.findBefore(cutoff, limit);
+        }
+        return mongoTemplate.find(beforeQuery(cutoff, limit), UserChecklist.class);
+    }
+
+    // The archive copy is written before the live document is removed, so a crash in between leaves a day in both
+    // places rather than in neither. A checklist that changed after it was read keeps its live document and is
+    // picked up again by the next batch.
+    @Override
+    public int archiveUserChecklists(List<UserChecklist> userChecklists) {
+        if (userChecklists.isEmpty()) {
+            return 0;
+        }
+        compactStore.archive(userChecklists);
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, userChecklistType());
+        userChecklists.forEach(checklist -> bulkOps.remove(byIdAndVersion(checklist.getId(), checklist.getVersion())));
+        return bulkOps.execute().getDeletedCount();
+    }
+
+    @Override
+    public Optional<RolloverCheckpoint> findRolloverCheckpoint(LocalDate date) {
+        return Optional.ofNullable(mongoTemplate.findById(date, RolloverCheckpoint.class));
+    }
+
+    @Override
+    public void saveRolloverCheckpoint(RolloverCheckpoint checkpoint) {
+        mongoTemplate.save(checkpoint);
+    }
+
+    private boolean isCompact() {
+        return properties.userChecklistFormat() == UserChecklistFormat.COMPACT;
+    }
+
+    private Class<?> userChecklistType() {
+        return isCompact() ? CompactUserChecklistDocument.class : UserChecklist.class;
+    }
+
+    // Writes go out as copies; the caller's item takes the new version only once its write is known to have landed
+    private static ItemWrite insertWrite(ChecklistItem item) {
+        ChecklistItem written = item.toBuilder().version(0L).build();
+        return new ItemWrite(item.getId(), item, 0L, bulkOps -> bulkOps.insert(written));
+    }
+
+    private static ItemWrite replaceWrite(ChecklistItem item) {
+        Long expected = item.getVersion();
+        long version = expected == null ? 0L : expected + 1;
+        ChecklistItem written = item.toBuilder().version(version).build();
+        return new ItemWrite(item.getId(), item, version, bulkOps ->
+                bulkOps.replaceOne(byIdAndVersion(item.getId(), expected), written));
+    }
+
+    private List<ItemWriteFailure> executeBulk(List<ItemWrite> writes) {
+        List<ItemWriteFailure> failures = new ArrayList<>();
+        int batchSize = properties.bulkBatchSize();
+        for (int from = 0; from < writes.size(); from += batchSize) {
+            List<ItemWrite> batch = writes.subList(from, Math.min(from + batchSize, writes.size()));
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChecklistItem.class);
+            batch.forEach(write -> write.operation().accept(bulkOps));
+            List<ItemWriteFailure> batchFailures = new ArrayList<>();
+            try {
+                BulkWriteResult result = bulkOps.execute();
+                if (applied(result) < batch.size()) {
+                    batchFailures.addAll(versionConflicts(batch));
+                }
+            } catch (BulkOperationException ex) {
+                // Unordered writes keep going past an error, so the others can still have matched nothing
+                Set<Integer> errored = new HashSet<>();
+                ex.getErrors().forEach(error -> {
+                    errored.add(error.getIndex());
+                    batchFailures.add(new ItemWriteFailure(batch.get(error.getIndex()).itemId(), error.getMessage()));
+                });
+                List<ItemWrite> attempted = IntStream.range(0, batch.size())
+                        .filter(index -> !errored.contains(index))
+                        .mapToObj(batch::get)
+                        .toList();
+                if (applied(ex.getResult()) < attempted.size()) {
+                    batchFailures.addAll(versionConflicts(attempted));
+                }
+            }
+            Set<String> failedIds = new HashSet<>();
+            batchFailures.forEach(failure -> failedIds.add(failure.itemId()));
+            batch.stream()
+                    .filter(write -> !failedIds.contains(write.itemId()))
+                    .forEach(ItemWrite::commit);
+            failures.addAll(batchFailures);
+        }
+        return failures;
+    }
+
+    private static int applied(BulkWriteResult result) {
+        return result.getInsertedCount() + result.getMatchedCount() + result.getDeletedCount();
+    }
+
+    // A bulk result only carries counts, so the writes that matched nothing are found by reading back the versions
+    // they should have left behind
+    private List<ItemWriteFailure> versionConflicts(List<ItemWrite> batch) {
+        Query query = new Query(Criteria.where("_id").in(batch.stream().map(ItemWrite::itemId).toList()));
+        query.fields().include("version");
+        Map<String, Long> stored = new HashMap<>();
+        mongoTemplate.find(query, ChecklistItem.class).forEach(item -> stored.put(item.getId(), item.getVersion()));
+        return batch.stream()
+                .filter(write -> write.writtenVersion() == null
+                        ? stored.containsKey(write.itemId())
+                        : !Objects.equals(stored.get(write.itemId()), write.writtenVersion()))
+                .map(write -> new ItemWriteFailure(write.itemId(), "Version conflict"))
+                .toList();
+    }
+
+    private static void throwIfFailed(List<ChecklistItem> items, List<ItemWriteFailure> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        Set<String> failedIds = new HashSet<>();
+        failures.forEach(failure -> failedIds.add(failure.itemId()));
+        List<ChecklistItem> written = items.stream()
+                .filter(item -> !failedIds.contains(item.getId()))
+                .toList();
+        throw new BatchWriteException(written, failures);
+    }
+
+    // writtenVersion is the version the document holds after the write, or null when the write removes it
+    private record ItemWrite(String itemId, ChecklistItem item, Long writtenVersion,
+                             Consumer<BulkOperations> operation) {
+        void commit() {
+            if (item != null) {
+                item.setVersion(writtenVersion);
+            }
+        }
     }
 }
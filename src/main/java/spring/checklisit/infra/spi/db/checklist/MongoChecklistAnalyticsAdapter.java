@@ -0,0 +1,204 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.ChecklistAnalyticsPort;
+import spring.checklisit.domain.checklist.DailyCompletionStats;
+import spring.checklisit.domain.checklist.ItemCompletionStats;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.infra.spi.db.checklist.MongoChecklistProperties.UserChecklistFormat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.merge;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.out;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.unwind;
+import static org.springframework.data.mongodb.core.aggregation.MergeOperation.WhenDocumentsDontMatch.insertNewDocument;
+import static org.springframework.data.mongodb.core.aggregation.MergeOperation.WhenDocumentsMatch.replaceDocument;
+
+@Repository
+@RequiredArgsConstructor
+public class MongoChecklistAnalyticsAdapter implements ChecklistAnalyticsPort {
+
+    private static final String ROLLUPS = "checklist_daily_rollups";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoChecklistProperties properties;
+    private final CompactUserChecklistStore compactStore;
+    private final DailyRollupWriter rollupWriter;
+
+    @Override
+    public List<ItemCompletionStats> findItemCompletion(LocalDate from, LocalDate to) {
+        Aggregation aggregation = newAggregation(
+                match(byDateRange(from, to)),
+                group("itemId")
+                        .first("category").as("category")
+                        .sum("assigned").as("assigned")
+                        .sum("completed").as("completed"),
+                project("category", "assigned", "completed").and("itemId").previousOperation(),
+                sort(Sort.by("category", "itemId")));
+        return mongoTemplate.aggregate(aggregation, DailyItemRollupDocument.class, ItemCompletionStats.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public List<DailyCompletionStats> findDailyCompletion(LocalDate from, LocalDate to, Category category) {
+        Criteria criteria = byDateRange(from, to);
+        if (category != null) {
+            criteria.and("category").is(category);
+        }
+        Aggregation aggregation = newAggregation(
+                match(criteria),
+                group("date")
+                        .sum("assigned").as("assigned")
+                        .sum("completed").as("completed"),
+                project("assigned", "completed").and("date").previousOperation(),
+                sort(Sort.by("date")));
+        return mongoTemplate.aggregate(aggregation, DailyItemRollupDocument.class, DailyCompletionStats.class)
+                .getMappedResults();
+    }
+
+    // Replaces the range's rollups with counts recomputed from the stored checklists, live and archived. The counts
+    // are built in a staging collection first and swapped in afterwards, so the range keeps its old rollups until the
+    // new ones exist, and a rebuild that runs twice ends with the same totals. Increments landing while a rebuild
+    // runs can be lost, so this is meant for closed days and backfills rather than for today.
+    @Override
+    public long rebuildDailyRollups(LocalDate from, LocalDate to) {
+        String staging = ROLLUPS + "_rebuild_" + UUID.randomUUID();
+        try {
+            if (isCompact()) {
+                rebuildFromCompactChecklists(from, to, staging);
+            } else {
+                rebuildFromExpandedChecklists(from, to, staging);
+            }
+            rebuildFromArchivedChecklists(from, to, staging);
+            swapIn(from, to, staging);
+        } finally {
+            mongoTemplate.dropCollection(staging);
+        }
+        return mongoTemplate.count(new Query(byDateRange(from, to)), DailyItemRollupDocument.class);
+    }
+
+    // Runs entirely in the database: one group per (date, item) written straight into the empty staging collection
+    private void rebuildFromExpandedChecklists(LocalDate from, LocalDate to, String staging) {
+        Aggregation aggregation = newAggregation(
+                match(byDateRange(from, to)),
+                unwind("items"),
+                group(Fields.from(Fields.field("date"), Fields.field("itemId", "items.itemId")))
+                        .first("items.category").as("category")
+                        .count().as("assigned")
+                        .sum(ConditionalOperators.when(Criteria.where("items.complete").is(true))
+                                .then(1)
+                                .otherwise(0)).as("completed"),
+                context -> new Document("$project", new Document("_id", 0)
+                        .append("date", "$_id.date")
+                        .append("itemId", "$_id.itemId")
+                        .append("category", 1)
+                        .append("assigned", 1)
+                        .append("completed", 1)),
+                out(staging));
+        mongoTemplate.aggregate(aggregation, UserChecklist.class, Document.class);
+    }
+
+    // Completion bits can only be read against their catalog version, so compact checklists are folded here
+    private void rebuildFromCompactChecklists(LocalDate from, LocalDate to, String staging) {
+        try (Stream<UserChecklist> checklists = compactStore.streamByDateRange(from, to)) {
+            foldInto(staging, checklists, UnaryOperator.identity());
+        }
+    }
+
+    // Archiving copies a day before deleting it from the live collection, so a day found in both is counted once,
+    // from its live copy
+    private void rebuildFromArchivedChecklists(LocalDate from, LocalDate to, String staging) {
+        try (Stream<UserChecklist> checklists = compactStore.streamArchivedByDateRange(from, to)) {
+            foldInto(staging, checklists, this::withoutLive);
+        }
+    }
+
+    private void foldInto(String staging, Stream<UserChecklist> checklists,
+                          UnaryOperator<List<UserChecklist>> filter) {
+        List<UserChecklist> batch = new ArrayList<>();
+        Iterator<UserChecklist> iterator = checklists.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == properties.bulkBatchSize() || !iterator.hasNext()) {
+                rollupWriter.recordAssigned(filter.apply(batch), staging);
+                batch.clear();
+            }
+        }
+    }
+
+    private List<UserChecklist> withoutLive(List<UserChecklist> archived) {
+        Query query = new Query(Criteria.where("_id").in(archived.stream().map(UserChecklist::getId).toList()));
+        query.fields().include("_id");
+        Set<String> live = isCompact()
+                ? mongoTemplate.find(query, CompactUserChecklistDocument.class).stream()
+                        .map(CompactUserChecklistDocument::id)
+                        .collect(Collectors.toSet())
+                : mongoTemplate.find(query, UserChecklist.class).stream()
+                        .map(UserChecklist::getId)
+                        .collect(Collectors.toSet());
+        return archived.stream().filter(checklist -> !live.contains(checklist.getId())).toList();
+    }
+
+    // Upserts the recomputed rollups, then removes the range's rollups that the recompute no longer produced
+    private void swapIn(LocalDate from, LocalDate to, String staging) {
+        Aggregation aggregation = newAggregation(
+                context -> new Document("$project", new Document("_id", 0)),
+                merge().intoCollection(ROLLUPS)
+                        .on("date", "itemId")
+                        .whenDocumentsMatch(replaceDocument())
+                        .whenDocumentsDontMatch(insertNewDocument())
+                        .build());
+        mongoTemplate.aggregate(aggregation, staging, Document.class);
+
+        Query keys = new Query(byDateRange(from, to));
+        keys.fields().include("date").include("itemId");
+        Set<RollupKey> rebuilt = mongoTemplate.find(keys, DailyItemRollupDocument.class, staging).stream()
+                .map(RollupKey::of)
+                .collect(Collectors.toSet());
+        List<String> stale = mongoTemplate.find(keys, DailyItemRollupDocument.class).stream()
+                .filter(rollup -> !rebuilt.contains(RollupKey.of(rollup)))
+                .map(DailyItemRollupDocument::id)
+                .toList();
+        if (!stale.isEmpty()) {
+            mongoTemplate.remove(new Query(Criteria.where("_id").in(stale)), DailyItemRollupDocument.class);
+        }
+    }
+
+    private boolean isCompact() {
+        return properties.userChecklistFormat() == UserChecklistFormat.COMPACT;
+    }
+
+    private static Criteria byDateRange(LocalDate from, LocalDate to) {
+        return Criteria.where("date").gte(from).lte(to);
+    }
+
+    private record RollupKey(LocalDate date, String itemId) {
+        static RollupKey of(DailyItemRollupDocument rollup) {
+            return new RollupKey(rollup.date(), rollup.itemId());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "checklist.mongo")
+public record MongoChecklistProperties(
+        @DefaultValue("500") int bulkBatchSize,
+        @DefaultValue("10000") int userChecklistCacheSize,
+        @DefaultValue("EXPANDED") UserChecklistFormat userChecklistFormat,
+        // Bounds how long a checklist changed by another instance can be served stale from the local cache
+        @DefaultValue("5s") Duration userChecklistCacheTtl,
+        // Same bound for the catalog, which changes rarely and is invalidated locally on every write
+        @DefaultValue("30s") Duration catalogCacheTtl
+) {
+    public enum UserChecklistFormat {
+        // Every daily document embeds a full copy of its items
+        EXPANDED,
+        // Daily documents reference a stored catalog version and keep completion as a bitset
+        COMPACT
+    }
+}
@@ -0,0 +1,264 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import spring.checklisit.domain.checklist.BatchWriteException;
+import spring.checklisit.domain.checklist.BatchWriteException.ItemWriteFailure;
+import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.ChecklistItemQuery;
+import spring.checklisit.domain.checklist.CompletionBatch;
+import spring.checklisit.domain.checklist.ItemCursor;
+import spring.checklisit.domain.checklist.ItemPage;
+import spring.checklisit.domain.checklist.ReactiveChecklistPort;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+import spring.checklisit.infra.spi.db.checklist.MongoChecklistProperties.UserChecklistFormat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byId;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byIdAndVersion;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byUserAndDate;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byUserChecklistItem;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byUserChecklistItemNotIn;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.completionBatchUpdate;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.completionUpdate;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.insertFields;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.sortOf;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.toPageQuery;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.toQuery;
+
+@Repository
+@Profile("reactive")
+public class ReactiveMongoChecklistAdapter implements ReactiveChecklistPort {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoChecklistProperties properties;
+
+    public ReactiveMongoChecklistAdapter(ReactiveMongoTemplate mongoTemplate, MongoChecklistProperties properties) {
+        if (properties.userChecklistFormat() != UserChecklistFormat.EXPANDED) {
+            throw new IllegalStateException("The reactive profile only supports the expanded user checklist format");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public Flux<ChecklistItem> findItems(ChecklistItemQuery itemQuery) {
+        return mongoTemplate.find(toQuery(itemQuery).with(sortOf(itemQuery.sort())), ChecklistItem.class);
+    }
+
+    @Override
+    public Mono<ItemPage> findItemPage(ChecklistItemQuery itemQuery, ItemCursor after, int limit) {
+        return mongoTemplate.find(toPageQuery(itemQuery, after, limit), ChecklistItem.class)
+                .collectList()
+                .map(items -> {
+                    if (items.size() <= limit) {
+                        return new ItemPage(items, null);
+                    }
+                    List<ChecklistItem> page = items.subList(0, limit);
+                    return new ItemPage(page, ItemCursor.of(page.get(limit - 1)));
+                });
+    }
+
+    @Override
+    public Mono<ChecklistItem> findItemById(String id) {
+        return mongoTemplate.findById(id, ChecklistItem.class);
+    }
+
+    @Override
+    public Flux<ChecklistItem> saveAllItems(List<ChecklistItem> items) {
+        items.stream()
+                .filter(item -> item.getId() == null || item.getId().isBlank())
+                .forEach(item -> item.setId(new ObjectId().toHexString()));
+
+        List<ItemWrite> writes = items.stream()
+                .map(item -> item.getVersion() == null ? insertWrite(item) : replaceWrite(item))
+                .toList();
+        return executeBulk(writes)
+                .flatMap(failures -> failIfAny(items, failures))
+                .thenMany(Flux.fromIterable(items));
+    }
+
+    @Override
+    public Mono<Void> deleteItemById(String id) {
+        return mongoTemplate.remove(byId(id), ChecklistItem.class).then();
+    }
+
+    @Override
+    public Mono<Void> applyItemChanges(List<ChecklistItem> updatedItems, List<ChecklistItem> deletedItems) {
+        List<ItemWrite> writes = new ArrayList<>();
+        updatedItems.forEach(item -> writes.add(replaceWrite(item)));
+        deletedItems.forEach(item -> writes.add(new ItemWrite(item.getId(), null, null, bulkOps ->
+                bulkOps.remove(byIdAndVersion(item.getId(), item.getVersion())))));
+        return executeBulk(writes).flatMap(failures -> failIfAny(updatedItems, failures));
+    }
+
+    @Override
+    public Mono<UserChecklist> findUserChecklistByDate(String userId, LocalDate date) {
+        return mongoTemplate.findOne(byUserAndDate(userId, date), UserChecklist.class);
+    }
+
+    @Override
+    public Mono<UserChecklist> saveUserChecklist(UserChecklist userChecklist) {
+        return mongoTemplate.save(userChecklist);
+    }
+
+    @Override
+    public Mono<UserChecklist> materializeUserChecklist(String userId, LocalDate date, List<UserChecklistItem> items) {
+        Query query = byUserAndDate(userId, date);
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+        return mongoTemplate.findAndModify(query, insertFields(items), options, UserChecklist.class)
+                // Lost the insert race to another reader; their snapshot is the one to use
+                .onErrorResume(DuplicateKeyException.class, ex -> mongoTemplate.findOne(query, UserChecklist.class));
+    }
+
+    @Override
+    public Mono<UserChecklist> updateItemCompletion(String userId, LocalDate date, String itemId, boolean complete) {
+        Query toggle = byUserChecklistItemNotIn(userId, date, itemId, complete);
+        FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true);
+        return mongoTemplate.findAndModify(toggle, completionUpdate(itemId, complete), options, UserChecklist.class)
+                // Either the item already has the requested state or it is not in the checklist at all
+                .switchIfEmpty(Mono.defer(() ->
+                        mongoTemplate.findOne(byUserChecklistItem(userId, date, itemId), UserChecklist.class)));
+    }
+
+    @Override
+    public Mono<UserChecklist> applyCompletionBatch(String userId, LocalDate date, CompletionBatch batch) {
+        return mongoTemplate.findAndModify(
+                byUserAndDate(userId, date),
+                completionBatchUpdate(batch),
+                FindAndModifyOptions.options().returnNew(true),
+                UserChecklist.class);
+    }
+
+    // Same contract as the blocking adapter: writes go out as copies, and the caller's item takes the new version
+    // only once its write is known to have landed, so a retried call starts from the versions that were read
+    private static ItemWrite insertWrite(ChecklistItem item) {
+        ChecklistItem written = item.toBuilder().version(0L).build();
+        return new ItemWrite(item.getId(), item, 0L, bulkOps -> bulkOps.insert(written));
+    }
+
+    private static ItemWrite replaceWrite(ChecklistItem item) {
+        Long expected = item.getVersion();
+        long version = expected == null ? 0L : expected + 1;
+        ChecklistItem written = item.toBuilder().version(version).build();
+        return new ItemWrite(item.getId(), item, version, bulkOps ->
+                bulkOps.replaceOne(byIdAndVersion(item.getId(), expected), written));
+    }
+
+    // Batches run one after another so a large catalog write never floods the connection pool. As in the blocking
+    // adapter, a batch is not rolled back when some of its writes fail; the failures are reported per item.
+    private Mono<List<ItemWriteFailure>> executeBulk(List<ItemWrite> writes) {
+        return Flux.fromIterable(writes)
+                .buffer(properties.bulkBatchSize())
+                .concatMap(this::executeBatch)
+                .flatMapIterable(failures -> failures)
+                .collectList();
+    }
+
+    private Mono<List<ItemWriteFailure>> executeBatch(List<ItemWrite> batch) {
+        ReactiveBulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChecklistItem.class);
+        batch.forEach(write -> write.operation().accept(bulkOps));
+        return bulkOps.execute()
+                .flatMap(result -> applied(result) < batch.size()
+                        ? versionConflicts(batch)
+                        : Mono.just(List.<ItemWriteFailure>of()))
+                .onErrorResume(BulkOperationException.class,
+                        ex -> partialFailures(batch, ex.getErrors(), ex.getResult()))
+                .onErrorResume(MongoBulkWriteException.class,
+                        ex -> partialFailures(batch, ex.getWriteErrors(), ex.getWriteResult()))
+                .doOnNext(failures -> {
+                    Set<String> failedIds = new HashSet<>();
+                    failures.forEach(failure -> failedIds.add(failure.itemId()));
+                    batch.stream()
+                            .filter(write -> !failedIds.contains(write.itemId()))
+                            .forEach(ItemWrite::commit);
+                });
+    }
+
+    // Unordered writes keep going past an error, so the others can still have matched nothing
+    private Mono<List<ItemWriteFailure>> partialFailures(List<ItemWrite> batch, List<BulkWriteError> errors,
+                                                         BulkWriteResult result) {
+        List<ItemWriteFailure> failures = new ArrayList<>();
+        Set<Integer> errored = new HashSet<>();
+        errors.forEach(error -> {
+            errored.add(error.getIndex());
+            failures.add(new ItemWriteFailure(batch.get(error.getIndex()).itemId(), error.getMessage()));
+        });
+        List<ItemWrite> attempted = IntStream.range(0, batch.size())
+                .filter(index -> !errored.contains(index))
+                .mapToObj(batch::get)
+                .toList();
+        if (applied(result) >= attempted.size()) {
+            return Mono.just(failures);
+        }
+        return versionConflicts(attempted).map(conflicts -> {
+            failures.addAll(conflicts);
+            return failures;
+        });
+    }
+
+    private static int applied(BulkWriteResult result) {
+        return result.getInsertedCount() + result.getMatchedCount() + result.getDeletedCount();
+    }
+
+    // A bulk result only carries counts, so the writes that matched nothing are found by reading back the versions
+    // they should have left behind
+    private Mono<List<ItemWriteFailure>> versionConflicts(List<ItemWrite> batch) {
+        Query query = new Query(Criteria.where("_id").in(batch.stream().map(ItemWrite::itemId).toList()));
+        query.fields().include("version");
+        return mongoTemplate.find(query, ChecklistItem.class)
+                .collect(HashMap<String, Long>::new, (stored, item) -> stored.put(item.getId(), item.getVersion()))
+                .map(stored -> batch.stream()
+                        .filter(write -> write.writtenVersion() == null
+                                ? stored.containsKey(write.itemId())
+                                : !Objects.equals(stored.get(write.itemId()), write.writtenVersion()))
+                        .map(write -> new ItemWriteFailure(write.itemId(), "Version conflict"))
+                        .toList());
+    }
+
+    private static Mono<Void> failIfAny(List<ChecklistItem> items, List<ItemWriteFailure> failures) {
+        if (failures.isEmpty()) {
+            return Mono.empty();
+        }
+        Set<String> failedIds = new HashSet<>();
+        failures.forEach(failure -> failedIds.add(failure.itemId()));
+        List<ChecklistItem> written = items.stream()
+                .filter(item -> !failedIds.contains(item.getId()))
+                .toList();
+        return Mono.error(new BatchWriteException(written, failures));
+    }
+
+    // writtenVersion is the version the document holds after the write, or null when the write removes it
+    private record ItemWrite(String itemId, ChecklistItem item, Long writtenVersion,
+                             Consumer<ReactiveBulkOperations> operation) {
+        void commit() {
+            if (item != null) {
+                item.setVersion(writtenVersion);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package spring.checklisit.infra.spi.db.idempotency;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// A null status marks a key whose first request is still running
+@Document(collection = "idempotency_keys")
+public record IdempotencyRecordDocument(
+        @Id String id,
+        String fingerprint,
+        Integer status,
+        String contentType,
+        String eTag,
+        String vary,
+        byte[] body,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,109 @@
+package spring.checklisit.infra.spi.db.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import spring.checklisit.infra.api.rest.idempotency.IdempotencyKeyInUseException;
+import spring.checklisit.infra.api.rest.idempotency.IdempotencyProperties;
+import spring.checklisit.infra.api.rest.idempotency.IdempotencyStore;
+import spring.checklisit.infra.api.rest.idempotency.IdempotentResponse;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class MongoIdempotencyStore implements IdempotencyStore, SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+    private final IdempotencyProperties properties;
+
+    // Runs before the web server starts, so the first keyed request already finds the TTL index
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureIndexes();
+    }
+
+    // Mongo drops records once createdAt is older than the TTL, so stored responses never need sweeping
+    public void ensureIndexes() {
+        mongoTemplate.indexOps(IdempotencyRecordDocument.class).createIndex(new Index()
+                .on("createdAt", Sort.Direction.ASC)
+                .expire(properties.ttl())
+                .named("createdAt_ttl"));
+    }
+
+    // The unique _id makes the insert the cross-instance lock; the in-process wait only covers one instance
+    @Override
+    public Optional<IdempotentResponse> claim(String key, String fingerprint) {
+        Instant now = Instant.now();
+        if (insertPending(key, fingerprint, now)) {
+            return Optional.empty();
+        }
+
+        // A pending record older than the lock timeout belongs to a request that died before releasing it
+        Query abandoned = new Query(Criteria.where("_id").is(key)
+                .and("status").is(null)
+                .and("createdAt").lt(now.minus(properties.lockTimeout())));
+        Update takeOver = new Update().set("fingerprint", fingerprint).set("createdAt", now);
+        if (mongoTemplate.findAndModify(abandoned, takeOver, IdempotencyRecordDocument.class) != null) {
+            return Optional.empty();
+        }
+
+        IdempotencyRecordDocument existing = mongoTemplate.findById(key, IdempotencyRecordDocument.class);
+        if (existing == null || existing.status() == null) {
+            throw new IdempotencyKeyInUseException(key.substring(key.indexOf(':') + 1));
+        }
+        return Optional.of(new IdempotentResponse(
+                existing.fingerprint(), existing.status(), existing.contentType(), existing.eTag(), existing.vary(),
+                existing.body()));
+    }
+
+    private boolean insertPending(String key, String fingerprint, Instant now) {
+        try {
+            mongoTemplate.insert(new IdempotencyRecordDocument(key, fingerprint, null, null, null, null, null, now));
+            return true;
+        } catch (DuplicateKeyException ex) {
+            // Either completed or still running somewhere
+            return false;
+        }
+    }
+
+    // The TTL restarts at completion, so a slow request still gets the full replay window
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(key)),
+                new Update()
+                        .set("fingerprint", response.fingerprint())
+                        .set("status", response.status())
+                        .set("contentType", response.contentType())
+                        .set("eTag", response.eTag())
+                        .set("vary", response.vary())
+                        .set("body", response.body())
+                        .set("createdAt", Instant.now()),
+                IdempotencyRecordDocument.class);
+    }
+
+    // A pending record only looks abandoned once createdAt stops moving, so a running request keeps pushing it forward
+    @Override
+    public void renew(String key, String fingerprint) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(key).and("status").is(null).and("fingerprint").is(fingerprint)),
+                new Update().set("createdAt", Instant.now()),
+                IdempotencyRecordDocument.class);
+    }
+
+    @Override
+    public void release(String key) {
+        mongoTemplate.remove(
+                new Query(Criteria.where("_id").is(key).and("status").is(null)),
+                IdempotencyRecordDocument.class);
+    }
+}
@@ -0,0 +1,14 @@
+package spring.checklisit.infra.spi.db.scheduling;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document(collection = "job_leases")
+public record JobLeaseDocument(
+        @Id String name,
+        String owner,
+        Instant expiresAt
+) {
+}
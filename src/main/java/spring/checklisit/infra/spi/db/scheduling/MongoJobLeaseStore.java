@@ -0,0 +1,55 @@
+package spring.checklisit.infra.spi.db.scheduling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import spring.checklisit.infra.scheduling.JobLeaseStore;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Repository
+@RequiredArgsConstructor
+public class MongoJobLeaseStore implements JobLeaseStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    // The upsert only matches a free or already owned lease; when another owner holds it, the insert hits the
+    // unique _id instead, so exactly one instance wins
+    @Override
+    public boolean tryAcquire(String name, String owner, Duration ttl) {
+        Instant now = Instant.now();
+        Query free = new Query(Criteria.where("_id").is(name).orOperator(
+                Criteria.where("expiresAt").lt(now),
+                Criteria.where("owner").is(owner)));
+        try {
+            mongoTemplate.findAndModify(free,
+                    new Update().set("owner", owner).set("expiresAt", now.plus(ttl)),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    JobLeaseDocument.class);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean renew(String name, String owner, Duration ttl) {
+        return mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(name).and("owner").is(owner)),
+                new Update().set("expiresAt", Instant.now().plus(ttl)),
+                JobLeaseDocument.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public void release(String name, String owner) {
+        mongoTemplate.remove(
+                new Query(Criteria.where("_id").is(name).and("owner").is(owner)),
+                JobLeaseDocument.class);
+    }
+}
@@ -0,0 +1,120 @@
+package spring.checklisit.domain.checklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.infra.spi.db.checklist.CachingChecklistAdapter;
+import spring.checklisit.infra.spi.db.checklist.ChecklistIndexInitializer;
+import spring.checklisit.infra.spi.db.checklist.DailyItemRollupDocument;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class ChecklistAnalyticsUseCaseIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private ChecklistAnalyticsUseCase analyticsUseCase;
+
+    @Autowired
+    private ChecklistUseCase checklistUseCase;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CachingChecklistAdapter cachingChecklistAdapter;
+
+    @Autowired
+    private ChecklistIndexInitializer indexInitializer;
+
+    private ChecklistItem wakeUp;
+    private ChecklistItem sleep;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(ChecklistItem.class);
+        mongoTemplate.dropCollection(UserChecklist.class);
+        mongoTemplate.dropCollection(DailyItemRollupDocument.class);
+        indexInitializer.ensureIndexes();
+        cachingChecklistAdapter.clear();
+
+        wakeUp = mongoTemplate.save(ChecklistItem.builder()
+                .label("Wake up")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        sleep = mongoTemplate.save(ChecklistItem.builder()
+                .label("Sleep")
+                .category(Category.NIGHT)
+                .order(2)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+    }
+
+    @Test
+    void toggles_shouldOnlyCountActualStateChanges() {
+        checklistUseCase.resetChecklist("alice");
+        checklistUseCase.resetChecklist("bob");
+
+        checklistUseCase.markItemComplete("alice", wakeUp.getId());
+        checklistUseCase.markItemComplete("alice", wakeUp.getId());
+        checklistUseCase.applyCompletionBatch("bob", new CompletionBatch(Map.of(), Map.of(Category.MORNING, true)));
+        checklistUseCase.markItemUncomplete("alice", wakeUp.getId());
+        checklistUseCase.markItemUncomplete("alice", sleep.getId());
+
+        assertThat(analyticsUseCase.getItemCompletion(TODAY, TODAY))
+                .extracting(ItemCompletionStats::itemId, ItemCompletionStats::assigned, ItemCompletionStats::completed)
+                .containsExactly(
+                        tuple(wakeUp.getId(), 2L, 1L),
+                        tuple(sleep.getId(), 2L, 0L));
+    }
+
+    @Test
+    void rebuildRollups_shouldBackfillHistoryAndMatchIncrementalCounts() {
+        UserChecklistItem done = UserChecklistItem.from(wakeUp).toBuilder().complete(true).build();
+        UserChecklistItem open = UserChecklistItem.from(sleep);
+        List.of("alice", "bob").forEach(userId -> mongoTemplate.save(UserChecklist.builder()
+                .userId(userId)
+                .date(TODAY.minusDays(1))
+                .items(List.of(done, open))
+                .build()));
+        checklistUseCase.resetChecklist("alice");
+        checklistUseCase.markItemComplete("alice", sleep.getId());
+        List<ItemCompletionStats> incremental = analyticsUseCase.getItemCompletion(TODAY, TODAY);
+
+        long rollups = analyticsUseCase.rebuildRollups(TODAY.minusDays(1), TODAY);
+
+        assertThat(rollups).isEqualTo(4);
+        assertThat(analyticsUseCase.getItemCompletion(TODAY, TODAY)).isEqualTo(incremental);
+        assertThat(analyticsUseCase.getDailyCompletion(TODAY.minusDays(1), TODAY, null))
+                .extracting(DailyCompletionStats::date, DailyCompletionStats::assigned, DailyCompletionStats::completed)
+                .containsExactly(
+                        tuple(TODAY.minusDays(1), 4L, 2L),
+                        tuple(TODAY, 2L, 1L));
+        assertThat(analyticsUseCase.getDailyCompletion(TODAY.minusDays(1), TODAY.minusDays(1), Category.MORNING))
+                .singleElement()
+                .satisfies(day -> assertThat(day.rate()).isEqualTo(1.0));
+    }
+
+    @Test
+    void getItemCompletion_shouldRejectInvertedRange() {
+        assertThatThrownBy(() -> analyticsUseCase.getItemCompletion(TODAY, TODAY.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package spring.checklisit.domain.checklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.infra.spi.db.checklist.CachingChecklistAdapter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class ChecklistRolloverUseCaseIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private ChecklistRolloverUseCase rolloverUseCase;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CachingChecklistAdapter cachingChecklistAdapter;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(ChecklistItem.class);
+        mongoTemplate.dropCollection(UserChecklist.class);
+        mongoTemplate.dropCollection(RolloverCheckpoint.class);
+        cachingChecklistAdapter.clear();
+
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Active Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(true)
+                .build());
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Inactive Task")
+                .category(Category.NIGHT)
+                .order(2)
+                .status(Status.INACTIVE)
+                .complete(false)
+                .build());
+    }
+
+    @Test
+    void rollover_shouldCreateTodaysChecklistForEveryUserOfPreviousDay() {
+        List<String> userIds = IntStream.range(0, 25).mapToObj("user-%02d"::formatted).toList();
+        userIds.forEach(userId -> mongoTemplate.save(UserChecklist.builder()
+                .userId(userId)
+                .date(TODAY.minusDays(1))
+                .items(List.of())
+                .build()));
+
+        RolloverCheckpoint result = rolloverUseCase.rollover(TODAY, 4, 3, processed -> {
+        });
+
+        assertThat(result.completed()).isTrue();
+        assertThat(result.processedUsers()).isEqualTo(25);
+        assertThat(result.createdChecklists()).isEqualTo(25);
+        List<UserChecklist> created = mongoTemplate.find(
+                new Query(Criteria.where("date").is(TODAY)), UserChecklist.class);
+        assertThat(created).hasSize(25).allSatisfy(checklist -> {
+            assertThat(checklist.getItems()).hasSize(1);
+            assertThat(checklist.getItems().get(0).isComplete()).isTrue();
+        });
+    }
+
+    @Test
+    void rollover_shouldResumeAfterCheckpointAndKeepExistingChecklists() {
+        List.of("alice", "bob", "carol").forEach(userId -> mongoTemplate.save(UserChecklist.builder()
+                .userId(userId)
+                .date(TODAY.minusDays(1))
+                .items(List.of())
+                .build()));
+        mongoTemplate.save(RolloverCheckpoint.start(TODAY).advance("alice", 1, 1));
+        mongoTemplate.save(UserChecklist.builder()
+                .userId("carol")
+                .date(TODAY)
+                .items(List.of())
+                .build());
+
+        RolloverCheckpoint result = rolloverUseCase.rollover(TODAY, 10, 2, processed -> {
+        });
+
+        assertThat(result.processedUsers()).isEqualTo(3);
+        assertThat(result.createdChecklists()).isEqualTo(2);
+        assertThat(mongoTemplate.find(new Query(Criteria.where("date").is(TODAY)), UserChecklist.class))
+                .extracting(UserChecklist::getUserId)
+                .containsExactlyInAnyOrder("bob", "carol");
+        assertThat(mongoTemplate.findOne(
+                new Query(Criteria.where("userId").is("carol").and("date").is(TODAY)), UserChecklist.class).getItems())
+                .isEmpty();
+    }
+}
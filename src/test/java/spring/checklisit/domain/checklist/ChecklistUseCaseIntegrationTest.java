@@ -1,29 +1,50 @@
 package spring.checklisit.domain.checklist;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.infra.spi.db.checklist.CachingChecklistAdapter;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @Import(TestcontainersConfiguration.class)
 class ChecklistUseCaseIntegrationTest {
 
+    private static final String USER_ID = "user-1";
+
     @Autowired
     private ChecklistUseCase checklistUseCase;
 
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private CachingChecklistAdapter cachingChecklistAdapter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ChecklistTemplateRegistry templates;
+
     @BeforeEach
     void setUp() {
         mongoTemplate.dropCollection(ChecklistItem.class);
         mongoTemplate.dropCollection(UserChecklist.class);
+        cachingChecklistAdapter.clear();
     }
 
     @Test
@@ -45,7 +66,7 @@ class ChecklistUseCaseIntegrationTest {
         mongoTemplate.save(activeItem);
         mongoTemplate.save(inactiveItem);
 
-        UserChecklist result = checklistUseCase.resetChecklist();
+        UserChecklist result = checklistUseCase.resetChecklist(USER_ID);
 
         assertThat(result).isNotNull();
         assertThat(result.getItems()).hasSize(1);
@@ -71,7 +92,7 @@ class ChecklistUseCaseIntegrationTest {
         mongoTemplate.save(preCheckedItem);
         mongoTemplate.save(uncheckedItem);
 
-        UserChecklist result = checklistUseCase.resetChecklist();
+        UserChecklist result = checklistUseCase.resetChecklist(USER_ID);
 
         assertThat(result.getItems()).hasSize(2);
         UserChecklistItem preChecked = result.getItems().stream()
@@ -97,8 +118,8 @@ class ChecklistUseCaseIntegrationTest {
                 .build();
         item = mongoTemplate.save(item);
 
-        checklistUseCase.resetChecklist();
-        UserChecklist result = checklistUseCase.markItemComplete(item.getId());
+        checklistUseCase.resetChecklist(USER_ID);
+        UserChecklist result = checklistUseCase.markItemComplete(USER_ID, item.getId());
 
         assertThat(result.getItems().get(0).isComplete()).isTrue();
     }
@@ -114,9 +135,225 @@ class ChecklistUseCaseIntegrationTest {
                 .build();
         item = mongoTemplate.save(item);
 
-        checklistUseCase.resetChecklist();
-        UserChecklist result = checklistUseCase.markItemUncomplete(item.getId());
+        checklistUseCase.resetChecklist(USER_ID);
+        UserChecklist result = checklistUseCase.markItemUncomplete(USER_ID, item.getId());
 
         assertThat(result.getItems().get(0).isComplete()).isFalse();
     }
+
+    @Test
+    void createItems_shouldPersistBatchesLargerThanBulkBatchSize() {
+        List<ChecklistItem> items = IntStream.range(0, 1200)
+                .mapToObj(i -> ChecklistItem.builder()
+                        .label("Task " + i)
+                        .category(Category.MORNING)
+                        .order(i)
+                        .status(Status.ACTIVE)
+                        .complete(false)
+                        .build())
+                .toList();
+
+        List<ChecklistItem> result = checklistUseCase.createItems(items);
+
+        assertThat(result).hasSize(1200).allMatch(item -> item.getId() != null);
+        assertThat(mongoTemplate.count(new Query(), ChecklistItem.class))
+                .isEqualTo(1200);
+    }
+
+    @Test
+    void updateItems_shouldOnlyWriteChangedItemsAndReportDiff() {
+        ChecklistItem first = mongoTemplate.save(ChecklistItem.builder()
+                .label("First")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        ChecklistItem second = mongoTemplate.save(ChecklistItem.builder()
+                .label("Second")
+                .category(Category.MORNING)
+                .order(2)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        ChecklistItem removed = mongoTemplate.save(ChecklistItem.builder()
+                .label("Removed")
+                .category(Category.NIGHT)
+                .order(3)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        ChecklistItem reordered = first.toBuilder().order(2).build();
+        ItemSyncResult result = checklistUseCase.updateItems(List.of(reordered, second.toBuilder().build()));
+
+        assertThat(result.updated()).extracting(ChecklistItem::getId).containsExactly(first.getId());
+        assertThat(result.unchanged()).extracting(ChecklistItem::getId).containsExactly(second.getId());
+        assertThat(result.deletedIds()).containsExactly(removed.getId());
+        assertThat(mongoTemplate.findById(first.getId(), ChecklistItem.class).getOrder()).isEqualTo(2);
+        assertThat(mongoTemplate.findById(removed.getId(), ChecklistItem.class)).isNull();
+    }
+
+    @Test
+    void markItemComplete_shouldOnlyTouchTargetedItem() {
+        ChecklistItem first = mongoTemplate.save(ChecklistItem.builder()
+                .label("First")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        ChecklistItem second = mongoTemplate.save(ChecklistItem.builder()
+                .label("Second")
+                .category(Category.NIGHT)
+                .order(2)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        checklistUseCase.resetChecklist(USER_ID);
+        checklistUseCase.markItemComplete(USER_ID, first.getId());
+        UserChecklist result = checklistUseCase.markItemComplete(USER_ID, second.getId());
+
+        assertThat(result.getItems()).allMatch(UserChecklistItem::isComplete);
+    }
+
+    @Test
+    void markItemComplete_withUnknownItem_shouldThrowNotFound() {
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        checklistUseCase.resetChecklist(USER_ID);
+
+        assertThatThrownBy(() -> checklistUseCase.markItemComplete(USER_ID, "unknown"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("unknown");
+    }
+
+    @Test
+    void getAllItems_shouldServeRepeatedReadsFromCatalogCache() {
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        double hitsBefore = cacheCount("hit");
+        double missesBefore = cacheCount("miss");
+
+        checklistUseCase.getAllItems();
+        List<ChecklistItem> result = checklistUseCase.getAllItems();
+
+        assertThat(result).hasSize(1);
+        assertThat(cacheCount("miss") - missesBefore).isEqualTo(1);
+        assertThat(cacheCount("hit") - hitsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void updateItems_shouldRecordUseCaseTimingAndBatchSize() {
+        ChecklistItem item = mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        checklistUseCase.updateItems(List.of(item.toBuilder().label("Renamed").build()));
+
+        assertThat(meterRegistry.get("checklist.usecase")
+                .tag("operation", "updateItems")
+                .tag("outcome", "success")
+                .timer().count()).isPositive();
+        assertThat(meterRegistry.get("checklist.batch.size")
+                .tag("operation", "updateItems")
+                .summary().count()).isPositive();
+    }
+
+    @Test
+    void streamItems_shouldTimeTheStreamUntilItIsClosedAndTimeTheCachingPort() {
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        long before = streamTimings("checklist.usecase");
+        long cachingBefore = streamTimings("checklist.port", "adapter", "caching");
+
+        try (Stream<ChecklistItem> items = checklistUseCase.streamItems(ChecklistItemQuery.builder().build())) {
+            assertThat(streamTimings("checklist.usecase")).isEqualTo(before);
+            assertThat(items).hasSize(1);
+        }
+
+        assertThat(streamTimings("checklist.usecase")).isEqualTo(before + 1);
+        assertThat(streamTimings("checklist.port", "adapter", "caching")).isEqualTo(cachingBefore + 1);
+    }
+
+    private long streamTimings(String name, String... tags) {
+        return meterRegistry.find(name)
+                .tags(tags)
+                .tag("operation", "streamItems")
+                .timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    @Test
+    void resetChecklist_shouldKeepSnapshotsPerUser() {
+        ChecklistItem item = mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        checklistUseCase.resetChecklist(USER_ID);
+        checklistUseCase.resetChecklist("user-2");
+        checklistUseCase.markItemComplete(USER_ID, item.getId());
+
+        assertThat(checklistUseCase.getTodayChecklist(USER_ID).getItems().get(0).isComplete()).isTrue();
+        assertThat(checklistUseCase.getTodayChecklist("user-2").getItems().get(0).isComplete()).isFalse();
+    }
+
+    @Test
+    void resetChecklist_shouldReuseTemplateUntilCatalogChanges() {
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        ChecklistTemplate template = templates.current();
+        checklistUseCase.resetChecklist(USER_ID);
+        checklistUseCase.resetChecklist("user-2");
+        assertThat(templates.current()).isSameAs(template);
+
+        checklistUseCase.createItems(List.of(ChecklistItem.builder()
+                .label("New Task")
+                .category(Category.NIGHT)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build()));
+
+        assertThat(templates.current().version()).isGreaterThan(template.version());
+        assertThat(checklistUseCase.resetChecklist(USER_ID).getItems())
+                .extracting(UserChecklistItem::getLabel)
+                .containsExactly("Task", "New Task");
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.get("checklist.catalog.cache").tag("result", result).counter().count();
+    }
 }
@@ -0,0 +1,74 @@
+package spring.checklisit.domain.checklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.infra.spi.db.checklist.CachingChecklistAdapter;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "checklist.lazy-materialization=true")
+@Import(TestcontainersConfiguration.class)
+class ChecklistUseCaseLazyMaterializationIntegrationTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Autowired
+    private ChecklistUseCase checklistUseCase;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CachingChecklistAdapter cachingChecklistAdapter;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(ChecklistItem.class);
+        mongoTemplate.dropCollection(UserChecklist.class);
+        cachingChecklistAdapter.clear();
+    }
+
+    @Test
+    void getTodayChecklist_shouldMaterializeOnceForConcurrentFirstReaders() throws Exception {
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        mongoTemplate.indexOps(UserChecklist.class).createIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("date", Sort.Direction.ASC)
+                .unique());
+
+        List<Callable<UserChecklist>> readers = IntStream.range(0, 8)
+                .<Callable<UserChecklist>>mapToObj(i -> () -> checklistUseCase.getTodayChecklist(USER_ID))
+                .toList();
+        List<UserChecklist> results;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            results = executor.invokeAll(readers).stream()
+                    .map(Future::resultNow)
+                    .toList();
+        }
+
+        assertThat(results).extracting(UserChecklist::getId).containsOnly(results.get(0).getId());
+        assertThat(results.get(0).getItems()).extracting(UserChecklistItem::getLabel).containsExactly("Task");
+        assertThat(mongoTemplate.count(new Query(), UserChecklist.class)).isEqualTo(1);
+    }
+}
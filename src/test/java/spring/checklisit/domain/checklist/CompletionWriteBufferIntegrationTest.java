@@ -0,0 +1,188 @@
+package spring.checklisit.domain.checklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.infra.spi.db.checklist.CachingChecklistAdapter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+// A long window keeps flushes under the test's control, except for the max-changes trigger
+@SpringBootTest(properties = {
+        "checklist.write-behind.enabled=true",
+        "checklist.write-behind.window=1h",
+        "checklist.write-behind.max-changes=4"
+})
+@Import(TestcontainersConfiguration.class)
+class CompletionWriteBufferIntegrationTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Autowired
+    private ChecklistUseCase checklistUseCase;
+
+    @Autowired
+    private CompletionWriteBuffer writeBuffer;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CachingChecklistAdapter cachingChecklistAdapter;
+
+    @Autowired
+    private ConflictRetry conflictRetry;
+
+    private ChecklistItem wakeUp;
+    private ChecklistItem stretch;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(ChecklistItem.class);
+        mongoTemplate.dropCollection(UserChecklist.class);
+        cachingChecklistAdapter.clear();
+
+        wakeUp = mongoTemplate.save(item("Wake up", 1));
+        stretch = mongoTemplate.save(item("Stretch", 2));
+        checklistUseCase.resetChecklist(USER_ID);
+    }
+
+    @Test
+    void toggles_shouldBeVisibleImmediatelyAndWrittenOnceOnFlush() {
+        long storedVersion = stored().getVersion();
+
+        checklistUseCase.markItemComplete(USER_ID, wakeUp.getId());
+        checklistUseCase.markItemComplete(USER_ID, stretch.getId());
+        UserChecklist seen = checklistUseCase.markItemUncomplete(USER_ID, wakeUp.getId());
+
+        assertThat(seen.getItems()).extracting(UserChecklistItem::isComplete).containsExactly(false, true);
+        assertThat(checklistUseCase.getTodayChecklist(USER_ID).getItems())
+                .extracting(UserChecklistItem::isComplete)
+                .containsExactly(false, true);
+        assertThat(stored().getVersion()).isEqualTo(storedVersion);
+
+        writeBuffer.flush(new UserChecklistKey(USER_ID, LocalDate.now()));
+
+        assertThat(stored().getVersion()).isEqualTo(storedVersion + 1);
+        assertThat(stored().getItems()).extracting(UserChecklistItem::isComplete).containsExactly(false, true);
+    }
+
+    @Test
+    void toggles_shouldFlushWhenMaxChangesIsReached() {
+        long storedVersion = stored().getVersion();
+
+        for (int tap = 0; tap < 4; tap++) {
+            checklistUseCase.markItemComplete(USER_ID, tap % 2 == 0 ? wakeUp.getId() : stretch.getId());
+        }
+
+        assertThat(stored().getVersion()).isEqualTo(storedVersion + 1);
+        assertThat(stored().getItems()).extracting(UserChecklistItem::isComplete).containsExactly(true, true);
+    }
+
+    @Test
+    void resetChecklist_shouldNotBeOverwrittenByOlderBufferedToggles() {
+        checklistUseCase.markItemComplete(USER_ID, wakeUp.getId());
+
+        checklistUseCase.resetChecklist(USER_ID);
+        writeBuffer.flush(new UserChecklistKey(USER_ID, LocalDate.now()));
+
+        assertThat(stored().getItems()).extracting(UserChecklistItem::isComplete).containsExactly(false, false);
+    }
+
+    @Test
+    void overlay_shouldKeepTogglesVisibleWhileTheyAreBeingFlushed() throws Exception {
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        ChecklistPort slowPort = mock(ChecklistPort.class, delegatesTo(cachingChecklistAdapter));
+        doAnswer(invocation -> {
+            writeStarted.countDown();
+            releaseWrite.await(10, TimeUnit.SECONDS);
+            return cachingChecklistAdapter.applyCompletionBatch(
+                    invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+        }).when(slowPort).applyCompletionBatch(any(), any(), any());
+        CompletionWriteBuffer slowBuffer = new CompletionWriteBuffer(
+                slowPort, conflictRetry, new WriteBehindSettings(true, Duration.ofHours(1), 16, false));
+        UserChecklistKey key = new UserChecklistKey(USER_ID, LocalDate.now());
+        UserChecklist beforeFlush = stored();
+
+        slowBuffer.record(key, wakeUp.getId(), true);
+        Thread flusher = Thread.ofVirtual().start(() -> slowBuffer.flush(key));
+        try {
+            assertThat(writeStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(slowBuffer.overlay(stored()).getItems())
+                    .extracting(UserChecklistItem::isComplete)
+                    .containsExactly(true, false);
+        } finally {
+            releaseWrite.countDown();
+            flusher.join();
+            slowBuffer.shutdown();
+        }
+
+        UserChecklist afterFlush = stored();
+        assertThat(afterFlush.getItems()).extracting(UserChecklistItem::isComplete).containsExactly(true, false);
+        // A read that fetched the checklist just before the write landed still sees the toggle
+        assertThat(slowBuffer.overlay(beforeFlush).getItems())
+                .extracting(UserChecklistItem::isComplete)
+                .containsExactly(true, false);
+    }
+
+    @Test
+    void flush_whenWriteFailsPermanently_shouldKeepTogglesBufferedForTheNextFlush() {
+        ChecklistPort failingOnce = mock(ChecklistPort.class, delegatesTo(cachingChecklistAdapter));
+        doThrow(new IllegalStateException("mapping failed"))
+                .doAnswer(invocation -> cachingChecklistAdapter.applyCompletionBatch(
+                        invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)))
+                .when(failingOnce).applyCompletionBatch(any(), any(), any());
+        CompletionWriteBuffer buffer = new CompletionWriteBuffer(
+                failingOnce, conflictRetry, new WriteBehindSettings(true, Duration.ofHours(1), 16, false));
+        UserChecklistKey key = new UserChecklistKey(USER_ID, LocalDate.now());
+        try {
+            buffer.record(key, wakeUp.getId(), true);
+
+            buffer.flush(key);
+
+            assertThat(stored().getItems()).extracting(UserChecklistItem::isComplete).containsExactly(false, false);
+            assertThat(buffer.overlay(stored()).getItems())
+                    .extracting(UserChecklistItem::isComplete)
+                    .containsExactly(true, false);
+
+            buffer.flush(key);
+
+            assertThat(stored().getItems()).extracting(UserChecklistItem::isComplete).containsExactly(true, false);
+        } finally {
+            buffer.shutdown();
+        }
+    }
+
+    private UserChecklist stored() {
+        return mongoTemplate.findOne(
+                new Query(Criteria.where("userId").is(USER_ID).and("date").is(LocalDate.now())), UserChecklist.class);
+    }
+
+    private static ChecklistItem item(String label, int order) {
+        return ChecklistItem.builder()
+                .label(label)
+                .category(Category.MORNING)
+                .order(order)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build();
+    }
+}
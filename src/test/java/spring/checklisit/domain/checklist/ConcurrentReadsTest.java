@@ -0,0 +1,77 @@
+package spring.checklisit.domain.checklist;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentReadsTest {
+
+    private final ConcurrentReads concurrentReads =
+            new ConcurrentReads(new ChecklistSettings(false, 1, 5, Duration.ofMillis(10)));
+
+    @AfterEach
+    void tearDown() {
+        concurrentReads.shutdown();
+    }
+
+    @Test
+    void join_withFreePermit_shouldRunFirstReadOnAnotherThread() {
+        Thread caller = Thread.currentThread();
+
+        Thread firstThread = concurrentReads.join(Thread::currentThread, () -> "second", (first, second) -> first);
+
+        assertThat(firstThread).isNotSameAs(caller);
+        assertThat(firstThread.isVirtual()).isTrue();
+    }
+
+    @Test
+    void join_whenPermitsAreTaken_shouldRunFirstReadOnCaller() throws Exception {
+        CountDownLatch forkRunning = new CountDownLatch(1);
+        CountDownLatch releaseFork = new CountDownLatch(1);
+        AtomicReference<Thread> inlineThread = new AtomicReference<>();
+        // Holds the only permit until released
+        Thread holder = Thread.ofVirtual().start(() -> concurrentReads.join(
+                () -> {
+                    forkRunning.countDown();
+                    await(releaseFork);
+                    return "held";
+                },
+                () -> "second",
+                (first, second) -> first));
+        try {
+            assertThat(forkRunning.await(10, TimeUnit.SECONDS)).isTrue();
+
+            String result = concurrentReads.join(
+                    () -> {
+                        inlineThread.set(Thread.currentThread());
+                        return "first";
+                    },
+                    () -> "second",
+                    (first, second) -> first + "+" + second);
+
+            assertThat(result).isEqualTo("first+second");
+            assertThat(inlineThread.get()).isSameAs(Thread.currentThread());
+        } finally {
+            releaseFork.countDown();
+            holder.join();
+        }
+
+        // The permit is back once the held read finished
+        Thread firstThread = concurrentReads.join(Thread::currentThread, () -> "second", (first, second) -> first);
+        assertThat(firstThread).isNotSameAs(Thread.currentThread());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
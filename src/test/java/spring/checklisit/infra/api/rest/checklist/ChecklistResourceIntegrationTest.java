@@ -1,5 +1,6 @@
 package spring.checklisit.infra.api.rest.checklist;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,13 +8,26 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.assertj.MockMvcTester;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
 import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.infra.api.rest.idempotency.IdempotencyFilter;
+import spring.checklisit.infra.spi.db.checklist.CachingChecklistAdapter;
 import spring.checklisit.domain.checklist.Category;
 import spring.checklisit.domain.checklist.ChecklistItem;
 import spring.checklisit.domain.checklist.Status;
 import spring.checklisit.domain.checklist.UserChecklist;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -28,10 +42,14 @@ class ChecklistResourceIntegrationTest {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private CachingChecklistAdapter cachingChecklistAdapter;
+
     @BeforeEach
     void setUp() {
         mongoTemplate.dropCollection(ChecklistItem.class);
         mongoTemplate.dropCollection(UserChecklist.class);
+        cachingChecklistAdapter.clear();
     }
 
     @Test
@@ -93,6 +111,70 @@ class ChecklistResourceIntegrationTest {
                 .extractingPath("$[0].label").isEqualTo("New Label");
     }
 
+    @Test
+    void updateItems_withStaleVersion_shouldReturn409AndKeepStoredItem() {
+        ChecklistItem item = ChecklistItem.builder()
+                .label("Old Label")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build();
+        item = mongoTemplate.save(item);
+
+        String requestBody = """
+                [
+                    {"id": "%s", "label": "New Label", "category": "MORNING", "order": 1, "status": "ACTIVE", "complete": false, "version": %d}
+                ]
+                """.formatted(item.getId(), item.getVersion() + 5);
+
+        assertThat(mockMvc.put().uri("/checklist/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .hasStatus(409)
+                .bodyJson()
+                .extractingPath("$.failures." + item.getId()).isEqualTo("Version conflict");
+
+        assertThat(mongoTemplate.findById(item.getId(), ChecklistItem.class).getLabel()).isEqualTo("Old Label");
+    }
+
+    @Test
+    void createItems_withDuplicateAndStaleItems_shouldReportBothAndOnlyWriteTheRest() {
+        ChecklistItem duplicate = mongoTemplate.save(ChecklistItem.builder()
+                .label("Duplicate")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        ChecklistItem stale = mongoTemplate.save(ChecklistItem.builder()
+                .label("Stale")
+                .category(Category.MORNING)
+                .order(2)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        String requestBody = """
+                [
+                    {"id": "%s", "label": "Duplicate", "category": "MORNING", "order": 1, "status": "ACTIVE", "complete": false},
+                    {"id": "%s", "label": "Changed", "category": "MORNING", "order": 2, "status": "ACTIVE", "complete": false, "version": %d},
+                    {"label": "New", "category": "MORNING", "order": 3, "status": "ACTIVE", "complete": false}
+                ]
+                """.formatted(duplicate.getId(), stale.getId(), stale.getVersion() + 5);
+
+        MvcTestResult result = mockMvc.post().uri("/checklist/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody)
+                .exchange();
+
+        assertThat(result).hasStatus(409);
+        assertThat(result).bodyJson().extractingPath("$.failures." + stale.getId()).isEqualTo("Version conflict");
+        assertThat(result).bodyJson().extractingPath("$.failures." + duplicate.getId()).isNotNull();
+        assertThat(result).bodyJson().extractingPath("$.writtenIds").asArray().hasSize(1);
+        assertThat(mongoTemplate.findById(stale.getId(), ChecklistItem.class).getLabel()).isEqualTo("Stale");
+    }
+
     @Test
     void deleteItem_shouldReturnNoContent() {
         ChecklistItem item = ChecklistItem.builder()
@@ -280,4 +362,366 @@ class ChecklistResourceIntegrationTest {
                 .bodyJson()
                 .extractingPath("$.length()").isEqualTo(3);
     }
+
+    @Test
+    void getTodayChecklist_withMatchingETag_shouldReturnNotModifiedUntilChecklistChanges() {
+        ChecklistItem item = mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        mockMvc.post().uri("/checklist/reset").exchange();
+        String eTag = mockMvc.get().uri("/checklist").exchange().getResponse().getHeader("ETag");
+
+        assertThat(eTag).isNotBlank();
+        assertThat(mockMvc.get().uri("/checklist").header("If-None-Match", eTag))
+                .hasStatus(304);
+
+        mockMvc.patch().uri("/checklist/" + item.getId() + "/complete").exchange();
+
+        assertThat(mockMvc.get().uri("/checklist").header("If-None-Match", eTag))
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.items[0].complete").isEqualTo(true);
+    }
+
+    @Test
+    void listItems_withFilters_shouldReturnMatchingItemsInCategoryOrder() {
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Night Task")
+                .category(Category.NIGHT)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Second Morning Task")
+                .category(Category.MORNING)
+                .order(2)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("First Morning Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Inactive Morning Task")
+                .category(Category.MORNING)
+                .order(0)
+                .status(Status.INACTIVE)
+                .complete(false)
+                .build());
+
+        assertThat(mockMvc.get().uri("/checklist/items?status=ACTIVE&category=MORNING&sort=CATEGORY_ORDER"))
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$[*].label")
+                .asArray()
+                .containsExactly("First Morning Task", "Second Morning Task");
+    }
+
+    @Test
+    void getItemPage_shouldWalkCatalogWithNextCursor() throws Exception {
+        for (int order = 1; order <= 3; order++) {
+            mongoTemplate.save(ChecklistItem.builder()
+                    .label("Task " + order)
+                    .category(Category.MORNING)
+                    .order(order)
+                    .status(Status.ACTIVE)
+                    .complete(false)
+                    .build());
+        }
+
+        MvcTestResult firstPage = mockMvc.get().uri("/checklist/items/page?limit=2").exchange();
+        assertThat(firstPage)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.items[*].label")
+                .asArray()
+                .containsExactly("Task 1", "Task 2");
+        String next = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.next");
+
+        MvcTestResult lastPage = mockMvc.get().uri("/checklist/items/page?limit=2&cursor=" + next).exchange();
+        assertThat(lastPage)
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.items[*].label")
+                .asArray()
+                .containsExactly("Task 3");
+        assertThat(lastPage)
+                .bodyJson()
+                .extractingPath("$.next").isNull();
+    }
+
+    @Test
+    void streamItems_shouldWriteOneJsonDocumentPerLine() throws Exception {
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Task 1")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Task 2")
+                .category(Category.NIGHT)
+                .order(2)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        MvcTestResult result = mockMvc.get().uri("/checklist/items/stream").exchange();
+
+        assertThat(result).hasStatusOk();
+        assertThat(result.getResponse().getContentAsString().lines())
+                .hasSize(2)
+                .allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+    }
+
+    @Test
+    void completeItem_shouldOnlyAffectRequestingUsersChecklist() {
+        ChecklistItem item = mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        mockMvc.post().uri("/checklist/reset").header("X-User-Id", "alice").exchange();
+        mockMvc.post().uri("/checklist/reset").header("X-User-Id", "bob").exchange();
+        mockMvc.patch().uri("/checklist/" + item.getId() + "/complete").header("X-User-Id", "alice").exchange();
+
+        assertThat(mockMvc.get().uri("/checklist").header("X-User-Id", "alice"))
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.items[0].complete").isEqualTo(true);
+        assertThat(mockMvc.get().uri("/checklist").header("X-User-Id", "bob"))
+                .hasStatusOk()
+                .bodyJson()
+                .extractingPath("$.items[0].complete").isEqualTo(false);
+    }
+
+    @Test
+    void applyCompletionBatch_shouldApplyItemAndCategoryTargetsAndReportUnknownIds() {
+        ChecklistItem wakeUp = mongoTemplate.save(ChecklistItem.builder()
+                .label("Wake up")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        ChecklistItem stretch = mongoTemplate.save(ChecklistItem.builder()
+                .label("Stretch")
+                .category(Category.MORNING)
+                .order(2)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        ChecklistItem sleep = mongoTemplate.save(ChecklistItem.builder()
+                .label("Sleep")
+                .category(Category.NIGHT)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        mockMvc.post().uri("/checklist/reset").exchange();
+
+        String requestBody = """
+                {
+                    "items": [
+                        {"itemId": "%s", "complete": false},
+                        {"itemId": "%s", "complete": true},
+                        {"itemId": "missing", "complete": true}
+                    ],
+                    "categories": [{"category": "MORNING", "complete": true}]
+                }
+                """.formatted(stretch.getId(), sleep.getId());
+
+        MvcTestResult result = mockMvc.patch().uri("/checklist")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody)
+                .exchange();
+
+        assertThat(result).hasStatusOk();
+        assertThat(result).bodyJson().extractingPath("$.notFoundIds").isEqualTo(List.of("missing"));
+        assertThat(result).bodyJson()
+                .extractingPath("$.checklist.items[?(@.itemId == '%s')].complete".formatted(wakeUp.getId()))
+                .isEqualTo(List.of(true));
+        assertThat(result).bodyJson()
+                .extractingPath("$.checklist.items[?(@.itemId == '%s')].complete".formatted(stretch.getId()))
+                .isEqualTo(List.of(false));
+        assertThat(result).bodyJson()
+                .extractingPath("$.checklist.items[?(@.itemId == '%s')].complete".formatted(sleep.getId()))
+                .isEqualTo(List.of(true));
+    }
+
+    @Test
+    void createItems_retriedWithSameIdempotencyKey_shouldReplayFirstResponse() {
+        String key = UUID.randomUUID().toString();
+        String requestBody = """
+                [{"label": "Task 1", "category": "MORNING", "order": 1, "status": "ACTIVE", "complete": false}]
+                """;
+
+        MvcTestResult first = mockMvc.post().uri("/checklist/items")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody)
+                .exchange();
+        MvcTestResult retry = mockMvc.post().uri("/checklist/items")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody)
+                .exchange();
+
+        assertThat(first).hasStatus(201);
+        assertThat(retry).hasStatus(201).hasHeader(IdempotencyFilter.REPLAYED_HEADER, "true");
+        assertThat(retry).hasBodyTextEqualTo(first.getResponse().getContentAsString());
+        assertThat(mongoTemplate.count(new Query(), ChecklistItem.class)).isEqualTo(1);
+    }
+
+    @Test
+    void resetChecklist_retriedWithSameIdempotencyKey_shouldReplayETagAndVary() {
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        String key = UUID.randomUUID().toString();
+
+        MvcTestResult first = mockMvc.post().uri("/checklist/reset")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .exchange();
+        MvcTestResult retry = mockMvc.post().uri("/checklist/reset")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .exchange();
+
+        assertThat(retry).hasStatus(200)
+                .hasHeader(IdempotencyFilter.REPLAYED_HEADER, "true")
+                .hasHeader("Vary", "Accept")
+                .hasHeader("ETag", first.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    void createItems_concurrentRetriesWithSameIdempotencyKey_shouldWriteOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String requestBody = """
+                [{"label": "Task 1", "category": "MORNING", "order": 1, "status": "ACTIVE", "complete": false}]
+                """;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<MvcTestResult>> results = IntStream.range(0, 8)
+                    .mapToObj(attempt -> executor.submit(() -> mockMvc.post().uri("/checklist/items")
+                            .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(requestBody)
+                            .exchange()))
+                    .toList();
+            for (Future<MvcTestResult> result : results) {
+                assertThat(result.get()).hasStatus(201);
+            }
+        }
+
+        assertThat(mongoTemplate.count(new Query(), ChecklistItem.class)).isEqualTo(1);
+    }
+
+    @Test
+    void createItems_reusingIdempotencyKeyForDifferentBody_shouldReturn422() {
+        String key = UUID.randomUUID().toString();
+        mockMvc.post().uri("/checklist/items")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [{"label": "Task 1", "category": "MORNING", "order": 1, "status": "ACTIVE", "complete": false}]
+                        """)
+                .exchange();
+
+        assertThat(mockMvc.post().uri("/checklist/items")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [{"label": "Task 2", "category": "MORNING", "order": 2, "status": "ACTIVE", "complete": false}]
+                        """))
+                .hasStatus(422);
+        assertThat(mongoTemplate.count(new Query(), ChecklistItem.class)).isEqualTo(1);
+    }
+
+    @Test
+    void listItems_withCborAccept_shouldReturnCborEncodedItems() throws Exception {
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Task 1")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        MvcTestResult result = mockMvc.get().uri("/checklist/items")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange();
+
+        assertThat(result).hasStatusOk().hasContentTypeCompatibleWith(MediaType.APPLICATION_CBOR);
+        JsonNode items = CBORMapper.builder().build().readTree(result.getResponse().getContentAsByteArray());
+        assertThat(items.get(0).get("label").asString()).isEqualTo("Task 1");
+        assertThat(items.get(0).get("category").asString()).isEqualTo("MORNING");
+    }
+
+    @Test
+    void getTodayChecklist_shouldVaryByAcceptAndTagEachEncodingStrongly() {
+        mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        mockMvc.post().uri("/checklist/reset").exchange();
+
+        MvcTestResult json = mockMvc.get().uri("/checklist").accept(MediaType.APPLICATION_JSON).exchange();
+        MvcTestResult cbor = mockMvc.get().uri("/checklist").accept(MediaType.APPLICATION_CBOR).exchange();
+        String jsonETag = json.getResponse().getHeader("ETag");
+        String cborETag = cbor.getResponse().getHeader("ETag");
+
+        assertThat(jsonETag).startsWith("\"");
+        assertThat(cborETag).startsWith("\"").isNotEqualTo(jsonETag);
+        assertThat(json).hasHeader("Vary", "Accept");
+        assertThat(cbor).hasHeader("Vary", "Accept");
+        assertThat(mockMvc.get().uri("/checklist").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", jsonETag))
+                .hasStatus(200);
+        assertThat(mockMvc.get().uri("/checklist").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", cborETag))
+                .hasStatus(304)
+                .hasHeader("Vary", "Accept");
+    }
+
+    @Test
+    void listItems_withColumnarAccept_shouldReturnOneArrayPerField() {
+        List.of("Task 1", "Task 2").forEach(label -> mongoTemplate.save(ChecklistItem.builder()
+                .label(label)
+                .category(Category.NIGHT)
+                .order(label.endsWith("1") ? 1 : 2)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build()));
+
+        MvcTestResult result = mockMvc.get().uri("/checklist/items")
+                .accept(MediaType.parseMediaType(ColumnarItemsDto.MEDIA_TYPE))
+                .exchange();
+
+        assertThat(result).hasStatusOk().hasContentTypeCompatibleWith(ColumnarItemsDto.MEDIA_TYPE);
+        assertThat(result).bodyJson().extractingPath("$.count").isEqualTo(2);
+        assertThat(result).bodyJson().extractingPath("$.label").isEqualTo(List.of("Task 1", "Task 2"));
+        assertThat(result).bodyJson().extractingPath("$.category")
+                .isEqualTo(List.of(Category.NIGHT.ordinal(), Category.NIGHT.ordinal()));
+        assertThat(result).bodyJson().extractingPath("$.categories[%d]".formatted(Category.NIGHT.ordinal()))
+                .isEqualTo("NIGHT");
+    }
 }
@@ -0,0 +1,113 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.ChecklistUseCase;
+import spring.checklisit.domain.checklist.Status;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.infra.spi.db.checklist.CachingChecklistAdapter;
+import spring.checklisit.infra.spi.db.checklist.ChecklistChangeStreamWatcher;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "checklist.stream.enabled=true")
+@Import(TestcontainersConfiguration.class)
+class ChecklistStreamResourceIntegrationTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CachingChecklistAdapter cachingChecklistAdapter;
+
+    @Autowired
+    private ChecklistUseCase checklistUseCase;
+
+    @Autowired
+    private ChecklistChangeStreamWatcher watcher;
+
+    @Autowired
+    private ChecklistChangeBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(ChecklistItem.class);
+        mongoTemplate.dropCollection(UserChecklist.class);
+        cachingChecklistAdapter.clear();
+    }
+
+    @Test
+    void streamChanges_shouldPushItemDeltaForToggleOfSubscribedUser() throws Exception {
+        ChecklistItem first = mongoTemplate.save(item("First", 1));
+        ChecklistItem second = mongoTemplate.save(item("Second", 2));
+        checklistUseCase.resetChecklist(USER_ID);
+        checklistUseCase.resetChecklist("user-2");
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        HttpClient client = HttpClient.newHttpClient();
+        client.sendAsync(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/checklist/stream"))
+                                .header(ChecklistResource.USER_ID_HEADER, USER_ID)
+                                .build(),
+                        HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> Thread.ofVirtual().start(() -> {
+                    try (Stream<String> body = response.body()) {
+                        body.forEach(lines::add);
+                    }
+                }));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!(watcher.isWatching() && broadcaster.subscriberCount() == 1) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        checklistUseCase.markItemComplete("user-2", first.getId());
+        checklistUseCase.markItemComplete(USER_ID, second.getId());
+
+        String event = null;
+        String data = null;
+        for (String line = lines.poll(10, TimeUnit.SECONDS); line != null; line = lines.poll(10, TimeUnit.SECONDS)) {
+            if (line.startsWith("event:")) {
+                event = line.substring("event:".length());
+            } else if (line.startsWith("data:") && "delta".equals(event)) {
+                data = line.substring("data:".length());
+                break;
+            }
+        }
+
+        assertThat(data).isNotNull();
+        assertThat(data).contains("\"itemId\":\"" + second.getId() + "\"", "\"complete\":true");
+        assertThat(data).doesNotContain(first.getId(), "label");
+    }
+
+    private static ChecklistItem item(String label, int order) {
+        return ChecklistItem.builder()
+                .label(label)
+                .category(Category.MORNING)
+                .order(order)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build();
+    }
+}
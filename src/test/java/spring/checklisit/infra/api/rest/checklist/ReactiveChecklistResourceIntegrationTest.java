@@ -0,0 +1,179 @@
+package spring.checklisit.infra.api.rest.checklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.Status;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.infra.spi.db.checklist.CachingChecklistAdapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "checklist.lazy-materialization=true")
+@ActiveProfiles("reactive")
+@Import(TestcontainersConfiguration.class)
+class ReactiveChecklistResourceIntegrationTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CachingChecklistAdapter cachingChecklistAdapter;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(ChecklistItem.class);
+        mongoTemplate.dropCollection(UserChecklist.class);
+        cachingChecklistAdapter.clear();
+        webTestClient = WebTestClient.bindToApplicationContext(applicationContext).build();
+    }
+
+    @Test
+    void completeItem_shouldUpdateChecklistAndChangeETag() {
+        ChecklistItem item = mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        String eTag = webTestClient.get().uri("/checklist")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].label").isEqualTo("Task")
+                .returnResult()
+                .getResponseHeaders().getETag();
+        assertThat(eTag).isNotBlank();
+
+        webTestClient.get().uri("/checklist")
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient.patch().uri("/checklist/{itemId}/complete", item.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].complete").isEqualTo(true);
+
+        webTestClient.get().uri("/checklist")
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void completeItem_twice_shouldNotBumpVersion() {
+        ChecklistItem item = mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        webTestClient.get().uri("/checklist").exchange().expectStatus().isOk();
+
+        webTestClient.patch().uri("/checklist/{itemId}/complete", item.getId()).exchange().expectStatus().isOk();
+        long version = storedVersion();
+        webTestClient.patch().uri("/checklist/{itemId}/complete", item.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].complete").isEqualTo(true);
+
+        assertThat(storedVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void createAndStreamItems_shouldRoundTripThroughReactiveStack() {
+        webTestClient.post().uri("/checklist/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        [
+                            {"label": "Night", "category": "NIGHT", "order": 1, "status": "ACTIVE", "complete": false},
+                            {"label": "Morning", "category": "MORNING", "order": 1, "status": "ACTIVE", "complete": false}
+                        ]
+                        """)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get().uri("/checklist/items/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ChecklistItemDto.class)
+                .value(items -> assertThat(items).extracting(ChecklistItemDto::label)
+                        .containsExactly("Morning", "Night"));
+    }
+
+    @Test
+    void createItems_withDuplicateAndStaleItems_shouldReportBothAndOnlyWriteTheRest() {
+        ChecklistItem duplicate = mongoTemplate.save(ChecklistItem.builder()
+                .label("Duplicate")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+        ChecklistItem stale = mongoTemplate.save(ChecklistItem.builder()
+                .label("Stale")
+                .category(Category.MORNING)
+                .order(2)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        webTestClient.post().uri("/checklist/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        [
+                            {"id": "%s", "label": "Duplicate", "category": "MORNING", "order": 1, "status": "ACTIVE", "complete": false},
+                            {"id": "%s", "label": "Changed", "category": "MORNING", "order": 2, "status": "ACTIVE", "complete": false, "version": %d},
+                            {"label": "New", "category": "MORNING", "order": 3, "status": "ACTIVE", "complete": false}
+                        ]
+                        """.formatted(duplicate.getId(), stale.getId(), stale.getVersion() + 5))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.failures." + stale.getId()).isEqualTo("Version conflict")
+                .jsonPath("$.failures." + duplicate.getId()).exists()
+                .jsonPath("$.writtenIds.length()").isEqualTo(1);
+
+        assertThat(mongoTemplate.findById(stale.getId(), ChecklistItem.class).getLabel()).isEqualTo("Stale");
+        assertThat(mongoTemplate.count(new Query(), ChecklistItem.class)).isEqualTo(3);
+    }
+
+    @Test
+    void completeItem_withUnknownItem_shouldReturnProblemDetail() {
+        webTestClient.patch().uri("/checklist/{itemId}/complete", "unknown")
+                .header(ChecklistResource.USER_ID_HEADER, "nobody")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Resource Not Found");
+    }
+
+    private long storedVersion() {
+        return mongoTemplate.findOne(new Query(Criteria.where("userId").is(UserChecklist.DEFAULT_USER_ID)),
+                UserChecklist.class).getVersion();
+    }
+}
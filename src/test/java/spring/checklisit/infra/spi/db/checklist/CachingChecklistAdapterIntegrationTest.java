@@ -0,0 +1,98 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.Status;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static spring.checklisit.infra.spi.db.checklist.ChecklistQueries.byUserAndDate;
+
+// Another instance's write is simulated with an update, which raises no mapping events here
+@SpringBootTest(properties = {
+        "checklist.mongo.user-checklist-cache-ttl=1s",
+        "checklist.mongo.catalog-cache-ttl=1s"
+})
+@Import(TestcontainersConfiguration.class)
+class CachingChecklistAdapterIntegrationTest {
+
+    private static final String USER_ID = "user-1";
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private CachingChecklistAdapter cachingChecklistAdapter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(ChecklistItem.class);
+        mongoTemplate.dropCollection(UserChecklist.class);
+        cachingChecklistAdapter.clear();
+    }
+
+    @Test
+    void findUserChecklistByDate_shouldReloadOnceTheEntryExpires() throws Exception {
+        cachingChecklistAdapter.saveUserChecklist(UserChecklist.builder()
+                .userId(USER_ID)
+                .date(TODAY)
+                .items(List.of(UserChecklistItem.builder()
+                        .itemId("item-1")
+                        .label("Task")
+                        .category(Category.MORNING)
+                        .order(1)
+                        .build()))
+                .build());
+        cachingChecklistAdapter.findUserChecklistByDate(USER_ID, TODAY);
+
+        mongoTemplate.updateFirst(byUserAndDate(USER_ID, TODAY),
+                new Update().set("items.0.complete", true).inc("version", 1), UserChecklist.class);
+
+        assertThat(completed()).isFalse();
+        Thread.sleep(1_200);
+        assertThat(completed()).isTrue();
+    }
+
+    @Test
+    void findAllItems_shouldHandOutCopiesAndReloadOnceTheCatalogExpires() throws Exception {
+        ChecklistItem saved = mongoTemplate.save(ChecklistItem.builder()
+                .label("Task")
+                .category(Category.MORNING)
+                .order(1)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build());
+
+        cachingChecklistAdapter.findAllItems().getFirst().setLabel("Mutated by a caller");
+        assertThat(cachingChecklistAdapter.findItemById(saved.getId())).get()
+                .extracting(ChecklistItem::getLabel).isEqualTo("Task");
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(saved.getId())),
+                new Update().set("label", "Renamed elsewhere"), ChecklistItem.class);
+
+        assertThat(cachingChecklistAdapter.findAllItems()).extracting(ChecklistItem::getLabel).containsExactly("Task");
+        Thread.sleep(1_200);
+        assertThat(cachingChecklistAdapter.findAllItems()).extracting(ChecklistItem::getLabel)
+                .containsExactly("Renamed elsewhere");
+    }
+
+    private boolean completed() {
+        return cachingChecklistAdapter.findUserChecklistByDate(USER_ID, TODAY).orElseThrow()
+                .getItems().getFirst().isComplete();
+    }
+}
@@ -0,0 +1,173 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.CompletionBatch;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class CompactUserChecklistStoreIntegrationTest {
+
+    private static final String USER_ID = "user-1";
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private CompactUserChecklistStore compactStore;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ChecklistIndexInitializer indexInitializer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(CompactUserChecklistDocument.class);
+        mongoTemplate.dropCollection(CatalogVersionDocument.class);
+        indexInitializer.ensureIndexes();
+    }
+
+    @Test
+    void updateItemCompletion_shouldFlipOnlyTheItemsBitAcrossWords() {
+        List<UserChecklistItem> template = IntStream.range(0, 70)
+                .mapToObj(i -> UserChecklistItem.builder()
+                        .itemId("item-" + i)
+                        .label("Task " + i)
+                        .category(Category.MORNING)
+                        .order(i)
+                        .build())
+                .toList();
+        compactStore.materialize(USER_ID, TODAY, template);
+
+        compactStore.updateItemCompletion(USER_ID, TODAY, "item-66", true);
+        UserChecklist checklist = compactStore.updateItemCompletion(USER_ID, TODAY, "item-1", true).orElseThrow();
+
+        assertThat(checklist.getVersion()).isEqualTo(3L);
+        assertThat(checklist.getItems()).hasSize(70);
+        assertThat(checklist.getItems())
+                .filteredOn(UserChecklistItem::isComplete)
+                .extracting(UserChecklistItem::getItemId)
+                .containsExactly("item-1", "item-66");
+        assertThat(checklist.getItems().get(66).getLabel()).isEqualTo("Task 66");
+
+        CompactUserChecklistDocument stored = mongoTemplate.findById(checklist.getId(), CompactUserChecklistDocument.class);
+        assertThat(stored.words()).containsExactly(1L << 1, 1L << 2);
+
+        compactStore.updateItemCompletion(USER_ID, TODAY, "item-66", false);
+        assertThat(compactStore.findByDate(USER_ID, TODAY).orElseThrow().getItems())
+                .filteredOn(UserChecklistItem::isComplete)
+                .extracting(UserChecklistItem::getItemId)
+                .containsExactly("item-1");
+    }
+
+    @Test
+    void updateItemCompletion_shouldToggleHighBitsOfEachWord() {
+        List<UserChecklistItem> template = IntStream.range(0, 70)
+                .mapToObj(i -> UserChecklistItem.builder()
+                        .itemId("item-" + i)
+                        .label("Task " + i)
+                        .category(Category.MORNING)
+                        .order(i)
+                        .build())
+                .toList();
+        compactStore.materialize(USER_ID, TODAY, template);
+
+        List.of("item-31", "item-63", "item-64").forEach(itemId ->
+                assertThat(compactStore.updateItemCompletion(USER_ID, TODAY, itemId, true)).isPresent());
+
+        CompactUserChecklistDocument stored = mongoTemplate.findOne(new Query(), CompactUserChecklistDocument.class);
+        assertThat(stored.words()).containsExactly((1L << 31) | (1L << 63), 1L);
+        assertThat(stored.version()).isEqualTo(4L);
+
+        compactStore.updateItemCompletion(USER_ID, TODAY, "item-63", false);
+        compactStore.updateItemCompletion(USER_ID, TODAY, "item-63", false);
+        UserChecklist checklist = compactStore.findByDate(USER_ID, TODAY).orElseThrow();
+        assertThat(checklist.getVersion()).isEqualTo(5L);
+        assertThat(checklist.getItems())
+                .filteredOn(UserChecklistItem::isComplete)
+                .extracting(UserChecklistItem::getItemId)
+                .containsExactly("item-31", "item-64");
+    }
+
+    @Test
+    void materialize_shouldStoreEachCatalogVersionOnce() {
+        List<UserChecklistItem> template = List.of(UserChecklistItem.builder()
+                .itemId("item-1")
+                .label("Task")
+                .category(Category.NIGHT)
+                .order(1)
+                .build());
+
+        compactStore.materialize(USER_ID, TODAY, template);
+        compactStore.materialize("user-2", TODAY, template);
+
+        assertThat(mongoTemplate.count(new Query(), CatalogVersionDocument.class))
+                .isEqualTo(1);
+        assertThat(compactStore.updateItemCompletion(USER_ID, TODAY, "unknown", true)).isEmpty();
+    }
+
+    @Test
+    void updateItemCompletion_afterAResetSwitchedCatalogVersions_shouldToggleTheItemInTheNewVersion() {
+        UserChecklistItem wake = UserChecklistItem.builder()
+                .itemId("wake").label("Wake up").category(Category.MORNING).order(1).build();
+        UserChecklistItem sleep = UserChecklistItem.builder()
+                .itemId("sleep").label("Sleep").category(Category.NIGHT).order(1).build();
+        UserChecklistItem stretch = UserChecklistItem.builder()
+                .itemId("stretch").label("Stretch").category(Category.MORNING).order(2).build();
+        String newVersion = compactStore.materialize("user-2", TODAY, List.of(stretch, wake, sleep)).getId();
+        compactStore.materialize(USER_ID, TODAY, List.of(wake, sleep));
+
+        // Another instance resets the day onto the new catalog, where "sleep" moved from position 1 to 2
+        CompactUserChecklistDocument reset = mongoTemplate.findById(newVersion, CompactUserChecklistDocument.class);
+        mongoTemplate.updateFirst(new Query(Criteria.where("userId").is(USER_ID)),
+                new Update().set("catalogVersion", reset.catalogVersion()).set("words", List.of(0L)),
+                CompactUserChecklistDocument.class);
+
+        UserChecklist checklist = compactStore.updateItemCompletion(USER_ID, TODAY, "sleep", true).orElseThrow();
+
+        assertThat(checklist.getItems())
+                .extracting(UserChecklistItem::getItemId)
+                .containsExactly("stretch", "wake", "sleep");
+        assertThat(checklist.getItems())
+                .filteredOn(UserChecklistItem::isComplete)
+                .extracting(UserChecklistItem::getItemId)
+                .containsExactly("sleep");
+    }
+
+    @Test
+    void applyCompletionBatch_shouldRewriteWordsFromItemAndCategoryTargets() {
+        List<UserChecklistItem> template = List.of(
+                UserChecklistItem.builder().itemId("wake").label("Wake up").category(Category.MORNING).order(1).build(),
+                UserChecklistItem.builder().itemId("stretch").label("Stretch").category(Category.MORNING).order(2).build(),
+                UserChecklistItem.builder().itemId("sleep").label("Sleep").category(Category.NIGHT).order(1).build());
+        compactStore.materialize(USER_ID, TODAY, template);
+        compactStore.updateItemCompletion(USER_ID, TODAY, "sleep", true);
+
+        UserChecklist checklist = compactStore.applyCompletionBatch(USER_ID, TODAY, new CompletionBatch(
+                Map.of("stretch", false), Map.of(Category.MORNING, true))).orElseThrow();
+
+        assertThat(checklist.getItems())
+                .filteredOn(UserChecklistItem::isComplete)
+                .extracting(UserChecklistItem::getItemId)
+                .containsExactly("wake", "sleep");
+        assertThat(checklist.getVersion()).isEqualTo(3L);
+    }
+}
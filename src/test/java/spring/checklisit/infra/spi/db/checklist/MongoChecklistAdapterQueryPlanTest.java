@@ -0,0 +1,253 @@
+package spring.checklisit.infra.spi.db.checklist;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.domain.checklist.Category;
+import spring.checklisit.domain.checklist.ChecklistItem;
+import spring.checklisit.domain.checklist.ChecklistItemQuery;
+import spring.checklisit.domain.checklist.CompletionBatch;
+import spring.checklisit.domain.checklist.ItemCursor;
+import spring.checklisit.domain.checklist.ItemSort;
+import spring.checklisit.domain.checklist.RolloverCheckpoint;
+import spring.checklisit.domain.checklist.Status;
+import spring.checklisit.domain.checklist.UserChecklist;
+import spring.checklisit.domain.checklist.UserChecklistItem;
+import spring.checklisit.infra.spi.db.checklist.MongoChecklistProperties.UserChecklistFormat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import({TestcontainersConfiguration.class, MongoChecklistAdapterQueryPlanTest.CommandCaptureConfiguration.class})
+class MongoChecklistAdapterQueryPlanTest {
+
+    private static final String USER_ID = "user-1";
+    private static final Set<String> EXPLAINABLE_COMMANDS =
+            Set.of("find", "findAndModify", "update", "delete", "count", "distinct", "aggregate");
+    private static final Set<String> TRANSPORT_FIELDS = Set.of(
+            "$db", "lsid", "$clusterTime", "txnNumber", "$readPreference", "apiVersion",
+            "ordered", "writeConcern", "bypassDocumentValidation");
+
+    @Autowired
+    private MongoChecklistAdapter adapter;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoChecklistProperties properties;
+
+    @Autowired
+    private CompactUserChecklistStore compactStore;
+
+    @Autowired
+    private DailyRollupWriter rollupWriter;
+
+    @Autowired
+    private MongoChecklistAnalyticsAdapter analyticsAdapter;
+
+    @Autowired
+    private ChecklistIndexInitializer indexInitializer;
+
+    @Autowired
+    private CapturedCommands capturedCommands;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(ChecklistItem.class);
+        mongoTemplate.dropCollection(UserChecklist.class);
+        mongoTemplate.dropCollection(RolloverCheckpoint.class);
+        mongoTemplate.dropCollection(CompactUserChecklistDocument.class);
+        mongoTemplate.dropCollection(CatalogVersionDocument.class);
+        mongoTemplate.dropCollection(DailyItemRollupDocument.class);
+        mongoTemplate.dropCollection(CompactUserChecklistStore.ARCHIVE_COLLECTION);
+        indexInitializer.ensureIndexes();
+        capturedCommands.clear();
+    }
+
+    @Test
+    void adapterQueries_shouldNeverScanWholeCollection() {
+        exerciseAdapter(adapter);
+        exerciseAdapter(new MongoChecklistAdapter(mongoTemplate, new MongoChecklistProperties(
+                properties.bulkBatchSize(),
+                properties.userChecklistCacheSize(),
+                UserChecklistFormat.COMPACT,
+                properties.userChecklistCacheTtl(),
+                properties.catalogCacheTtl()), compactStore, rollupWriter));
+        exerciseAnalytics();
+
+        List<BsonDocument> statements = capturedCommands.snapshot().stream()
+                .flatMap(command -> explainableStatements(command).stream())
+                .filter(statement -> !isFullCatalogReadByDesign(statement))
+                .toList();
+
+        assertThat(statements).isNotEmpty();
+        statements.forEach(statement -> {
+            BsonDocument explain = new BsonDocument("explain", statement)
+                    .append("verbosity", new BsonString("queryPlanner"));
+            String plan = mongoTemplate.getDb().runCommand(explain).toJson();
+            assertThat(plan)
+                    .as("query plan for %s", statement.toJson())
+                    .doesNotContain("COLLSCAN");
+        });
+    }
+
+    private void exerciseAdapter(MongoChecklistAdapter adapter) {
+        LocalDate today = LocalDate.now();
+        List<ChecklistItem> items = adapter.saveAllItems(new ArrayList<>(List.of(
+                item("First", 1),
+                item("Second", 2),
+                item("Third", 3))));
+        ChecklistItem first = items.get(0);
+
+        adapter.findItemById(first.getId());
+        adapter.findItems(ChecklistItemQuery.builder()
+                .status(Status.ACTIVE)
+                .sort(ItemSort.CATEGORY_ORDER)
+                .fields(Set.of("id", "label", "category", "order", "complete"))
+                .build());
+        adapter.findItems(ChecklistItemQuery.builder()
+                .category(Category.MORNING)
+                .sort(ItemSort.CATEGORY_ORDER)
+                .build());
+        adapter.findItems(ChecklistItemQuery.builder()
+                .status(Status.ACTIVE)
+                .category(Category.MORNING)
+                .sort(ItemSort.LABEL)
+                .build());
+        adapter.findItemPage(ChecklistItemQuery.builder().build(), ItemCursor.of(first), 2);
+        adapter.findItemPage(ChecklistItemQuery.builder().status(Status.ACTIVE).build(), ItemCursor.of(first), 2);
+        try (Stream<ChecklistItem> stream = adapter.streamItems(ChecklistItemQuery.builder()
+                .status(Status.ACTIVE)
+                .sort(ItemSort.CATEGORY_ORDER)
+                .build())) {
+            stream.toList();
+        }
+        adapter.applyItemChanges(List.of(first.toBuilder().order(4).build()), List.of(items.get(1)));
+        adapter.deleteItemById(items.get(2).getId());
+
+        UserChecklist checklist = adapter.saveUserChecklist(UserChecklist.builder()
+                .userId(USER_ID)
+                .date(today)
+                .items(List.of(UserChecklistItem.builder()
+                        .itemId(first.getId())
+                        .label(first.getLabel())
+                        .category(first.getCategory())
+                        .order(first.getOrder())
+                        .build()))
+                .build());
+        adapter.saveUserChecklist(checklist);
+        adapter.findUserChecklistByDate(USER_ID, today);
+        adapter.materializeUserChecklist("user-2", today, checklist.getItems());
+        adapter.updateItemCompletion(USER_ID, today, first.getId(), true);
+        adapter.applyCompletionBatch(USER_ID, today, new CompletionBatch(
+                Map.of(first.getId(), false), Map.of(Category.MORNING, true)));
+
+        adapter.findUserIdsWithChecklist(today, null, 10);
+        adapter.findUserIdsWithChecklist(today, USER_ID, 10);
+        adapter.createUserChecklistsIfAbsent(List.of(UserChecklist.builder()
+                .userId(USER_ID)
+                .date(today.plusDays(1))
+                .items(checklist.getItems())
+                .build()));
+        adapter.saveRolloverCheckpoint(RolloverCheckpoint.start(today));
+        adapter.findRolloverCheckpoint(today);
+
+        adapter.findUserChecklistHistory(USER_ID, today.minusDays(7), today);
+        adapter.archiveUserChecklists(adapter.findUserChecklistsBefore(today.plusDays(2), 10));
+        adapter.findUserChecklistHistory(USER_ID, today.minusDays(7), today.plusDays(1));
+    }
+
+    private void exerciseAnalytics() {
+        LocalDate today = LocalDate.now();
+        analyticsAdapter.rebuildDailyRollups(today.minusDays(1), today.plusDays(1));
+        analyticsAdapter.findItemCompletion(today.minusDays(1), today.plusDays(1));
+        analyticsAdapter.findDailyCompletion(today.minusDays(1), today.plusDays(1), Category.MORNING);
+    }
+
+    private static ChecklistItem item(String label, int order) {
+        return ChecklistItem.builder()
+                .label(label)
+                .category(Category.MORNING)
+                .order(order)
+                .status(Status.ACTIVE)
+                .complete(false)
+                .build();
+    }
+
+    private static List<BsonDocument> explainableStatements(BsonDocument command) {
+        BsonDocument base = command.clone();
+        TRANSPORT_FIELDS.forEach(base::remove);
+        return switch (base.getFirstKey()) {
+            case "update" -> splitStatements(base, "updates");
+            case "delete" -> splitStatements(base, "deletes");
+            default -> List.of(base);
+        };
+    }
+
+    // explain only accepts a single write statement per command
+    private static List<BsonDocument> splitStatements(BsonDocument command, String statementsField) {
+        return command.getArray(statementsField).stream()
+                .map(statement -> command.clone().append(statementsField, new BsonArray(List.of(statement))))
+                .toList();
+    }
+
+    // findAllItems returns the whole catalog; no index can avoid reading every document
+    private static boolean isFullCatalogReadByDesign(BsonDocument statement) {
+        return statement.containsKey("find")
+                && statement.getDocument("filter", new BsonDocument()).isEmpty();
+    }
+
+    static class CapturedCommands implements CommandListener {
+        private final List<BsonDocument> commands = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            if (EXPLAINABLE_COMMANDS.contains(event.getCommandName())) {
+                commands.add(event.getCommand().clone());
+            }
+        }
+
+        List<BsonDocument> snapshot() {
+            return List.copyOf(commands);
+        }
+
+        void clear() {
+            commands.clear();
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class CommandCaptureConfiguration {
+
+        @Bean
+        CapturedCommands capturedCommands() {
+            return new CapturedCommands();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandCaptureCustomizer(CapturedCommands capturedCommands) {
+            return builder -> builder.addCommandListener(capturedCommands);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package spring.checklisit.infra.spi.db.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import spring.checklisit.TestcontainersConfiguration;
+import spring.checklisit.infra.api.rest.idempotency.IdempotencyKeyInUseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "checklist.idempotency.lock-timeout=1s")
+@Import(TestcontainersConfiguration.class)
+class MongoIdempotencyStoreIntegrationTest {
+
+    private static final String KEY = "user-1:key-1";
+
+    @Autowired
+    private MongoIdempotencyStore idempotencyStore;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(IdempotencyRecordDocument.class);
+    }
+
+    @Test
+    void claim_whileTheOwnerKeepsRenewing_shouldNotTakeOver() throws Exception {
+        assertThat(idempotencyStore.claim(KEY, "fingerprint")).isEmpty();
+
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(500);
+            idempotencyStore.renew(KEY, "fingerprint");
+        }
+
+        assertThatThrownBy(() -> idempotencyStore.claim(KEY, "fingerprint"))
+                .isInstanceOf(IdempotencyKeyInUseException.class);
+    }
+
+    @Test
+    void claim_onceTheOwnerStopsRenewing_shouldTakeOver() throws Exception {
+        assertThat(idempotencyStore.claim(KEY, "fingerprint")).isEmpty();
+
+        Thread.sleep(1_200);
+
+        assertThat(idempotencyStore.claim(KEY, "fingerprint")).isEmpty();
+    }
+}
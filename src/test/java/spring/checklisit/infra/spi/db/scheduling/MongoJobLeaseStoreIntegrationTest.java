@@ -0,0 +1,52 @@
+package spring.checklisit.infra.spi.db.scheduling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import spring.checklisit.TestcontainersConfiguration;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class MongoJobLeaseStoreIntegrationTest {
+
+    private static final String LEASE = "checklist-rollover";
+
+    @Autowired
+    private MongoJobLeaseStore leaseStore;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(JobLeaseDocument.class);
+    }
+
+    @Test
+    void tryAcquire_whileAnotherOwnerHoldsTheLease_shouldFail() {
+        assertThat(leaseStore.tryAcquire(LEASE, "instance-1", Duration.ofMinutes(1))).isTrue();
+
+        assertThat(leaseStore.tryAcquire(LEASE, "instance-2", Duration.ofMinutes(1))).isFalse();
+        assertThat(leaseStore.renew(LEASE, "instance-2", Duration.ofMinutes(1))).isFalse();
+        assertThat(leaseStore.renew(LEASE, "instance-1", Duration.ofMinutes(1))).isTrue();
+    }
+
+    @Test
+    void tryAcquire_onceTheLeaseIsReleasedOrExpired_shouldSucceed() throws Exception {
+        leaseStore.tryAcquire(LEASE, "instance-1", Duration.ofMinutes(1));
+        leaseStore.release(LEASE, "instance-1");
+
+        assertThat(leaseStore.tryAcquire(LEASE, "instance-2", Duration.ofMillis(200))).isTrue();
+        Thread.sleep(300);
+
+        assertThat(leaseStore.tryAcquire(LEASE, "instance-1", Duration.ofMinutes(1))).isTrue();
+        assertThat(leaseStore.renew(LEASE, "instance-2", Duration.ofMinutes(1))).isFalse();
+    }
+}